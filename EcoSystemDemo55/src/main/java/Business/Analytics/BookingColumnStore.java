@@ -0,0 +1,277 @@
+package Business.Analytics;
+
+import Business.Billboard.Billboard;
+import Business.Billboard.BillboardDirectory;
+import Business.EcoSystem;
+import Business.Enterprise.Enterprise;
+import Business.Enterprise.SkyViewBillboardEnterprise;
+import Business.Network.Network;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snapshot of bookings for revenue and occupancy reporting, stored as
+ * parallel primitive columns (board, location, start day, end day, price)
+ * rather than as BookingRecord objects. Days are epoch days and both ends
+ * are inclusive. Locations are dictionary-encoded.
+ *
+ * Reports clip every booking to the period in straight loops over the
+ * columns, then accumulate per day through a difference array, so their
+ * cost is linear in bookings plus days.
+ */
+public class BookingColumnStore {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private int[] boardIds;
+    private int[] locationIds;
+    private int[] startDays;
+    private int[] endDays;
+    private double[] prices; // price per day the booking was made at
+    private int size;
+
+    private final Map<String, Integer> locationIdByName;
+    private final List<String> locations;
+    private int[] boardsPerLocation;
+    private int boardCount;
+
+    public BookingColumnStore() {
+        boardIds = new int[INITIAL_CAPACITY];
+        locationIds = new int[INITIAL_CAPACITY];
+        startDays = new int[INITIAL_CAPACITY];
+        endDays = new int[INITIAL_CAPACITY];
+        prices = new double[INITIAL_CAPACITY];
+        locationIdByName = new HashMap<>();
+        locations = new ArrayList<>();
+        boardsPerLocation = new int[16];
+    }
+
+    /**
+     * Snapshot of every billboard operator's bookings in the system.
+     */
+    public static BookingColumnStore build(EcoSystem system) {
+        List<BillboardDirectory> directories = new ArrayList<>();
+        for (Network network : system.getNetworkList()) {
+            for (Enterprise enterprise : network.getEnterpriseDirectory().getEnterpriseList()) {
+                if (enterprise instanceof SkyViewBillboardEnterprise) {
+                    BillboardDirectory directory = ((SkyViewBillboardEnterprise) enterprise).getBillboardDirectory();
+                    if (directory != null) {
+                        directories.add(directory);
+                    }
+                }
+            }
+        }
+        return build(directories);
+    }
+
+    public static BookingColumnStore build(Collection<BillboardDirectory> directories) {
+        BookingColumnStore store = new BookingColumnStore();
+        for (BillboardDirectory directory : directories) {
+            for (Billboard b : directory.getBillboardsSnapshot()) {
+                int locationId = store.addBoard(b.getLocation());
+                for (Billboard.BookingRecord record : b.getBookingHistorySnapshot()) {
+                    if (record.getStartDate() == null || record.getEndDate() == null) {
+                        continue; // Incomplete legacy record
+                    }
+                    // Older records have no booked price; the board's current one is the best guess
+                    Double price = record.getPricePerDay();
+                    store.addBooking(b.getBoardId(), locationId, toEpochDay(record.getStartDate()),
+                            toEpochDay(record.getEndDate()), price != null ? price : b.getPricePerDay());
+                }
+            }
+        }
+        return store;
+    }
+
+    /**
+     * Counts a board towards its location's capacity and returns the
+     * location's id.
+     */
+    public int addBoard(String location) {
+        String name = location == null ? "" : location;
+        Integer id = locationIdByName.get(name);
+        if (id == null) {
+            id = locations.size();
+            locationIdByName.put(name, id);
+            locations.add(name);
+            if (id == boardsPerLocation.length) {
+                boardsPerLocation = Arrays.copyOf(boardsPerLocation, id * 2);
+            }
+        }
+        boardsPerLocation[id]++;
+        boardCount++;
+        return id;
+    }
+
+    public void addBooking(int boardId, int locationId, int startDay, int endDay, double pricePerDay) {
+        if (size == boardIds.length) {
+            int capacity = size * 2;
+            boardIds = Arrays.copyOf(boardIds, capacity);
+            locationIds = Arrays.copyOf(locationIds, capacity);
+            startDays = Arrays.copyOf(startDays, capacity);
+            endDays = Arrays.copyOf(endDays, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+        }
+        boardIds[size] = boardId;
+        locationIds[size] = locationId;
+        startDays[size] = startDay;
+        endDays[size] = endDay;
+        prices[size] = pricePerDay;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getBoardCount() {
+        return boardCount;
+    }
+
+    /**
+     * Location names, indexed by location id.
+     */
+    public List<String> getLocations() {
+        return Collections.unmodifiableList(locations);
+    }
+
+    /**
+     * Booked revenue on each day from `from` to `to`, inclusive.
+     */
+    public double[] revenueByDay(LocalDate from, LocalDate to) {
+        int first = (int) from.toEpochDay();
+        int days = dayCount(from, to);
+        int[] lo = new int[size];
+        int[] hi = new int[size];
+        clip(first, days, lo, hi);
+
+        double[] delta = new double[days + 1];
+        for (int i = 0; i < size; i++) {
+            if (lo[i] <= hi[i]) {
+                delta[lo[i]] += prices[i];
+                delta[hi[i] + 1] -= prices[i];
+            }
+        }
+        double[] revenue = new double[days];
+        double running = 0;
+        for (int d = 0; d < days; d++) {
+            running += delta[d];
+            revenue[d] = running;
+        }
+        return revenue;
+    }
+
+    /**
+     * Booked revenue per 7-day week starting at `from`; the last week may
+     * be shorter.
+     */
+    public double[] revenueByWeek(LocalDate from, LocalDate to) {
+        double[] daily = revenueByDay(from, to);
+        double[] weekly = new double[(daily.length + 6) / 7];
+        for (int d = 0; d < daily.length; d++) {
+            weekly[d / 7] += daily[d];
+        }
+        return weekly;
+    }
+
+    /**
+     * Share of all boards booked on each day from `from` to `to`.
+     */
+    public double[] occupancyByDay(LocalDate from, LocalDate to) {
+        int first = (int) from.toEpochDay();
+        int days = dayCount(from, to);
+        int[] lo = new int[size];
+        int[] hi = new int[size];
+        clip(first, days, lo, hi);
+
+        int[] delta = new int[days + 1];
+        for (int i = 0; i < size; i++) {
+            if (lo[i] <= hi[i]) {
+                delta[lo[i]]++;
+                delta[hi[i] + 1]--;
+            }
+        }
+        double[] occupancy = new double[days];
+        if (boardCount == 0) {
+            return occupancy;
+        }
+        int running = 0;
+        for (int d = 0; d < days; d++) {
+            running += delta[d];
+            occupancy[d] = (double) running / boardCount;
+        }
+        return occupancy;
+    }
+
+    /**
+     * Booked revenue in the period per location id.
+     */
+    public double[] revenueByLocation(LocalDate from, LocalDate to) {
+        int[] bookedDays = bookedDays(from, to);
+        double[] revenue = new double[locations.size()];
+        for (int i = 0; i < size; i++) {
+            revenue[locationIds[i]] += bookedDays[i] * prices[i];
+        }
+        return revenue;
+    }
+
+    /**
+     * Share of board-days booked in the period per location id.
+     */
+    public double[] occupancyByLocation(LocalDate from, LocalDate to) {
+        int days = dayCount(from, to);
+        int[] bookedDays = bookedDays(from, to);
+        long[] booked = new long[locations.size()];
+        for (int i = 0; i < size; i++) {
+            booked[locationIds[i]] += bookedDays[i];
+        }
+        double[] occupancy = new double[locations.size()];
+        for (int l = 0; l < occupancy.length; l++) {
+            occupancy[l] = (double) booked[l] / ((long) boardsPerLocation[l] * days);
+        }
+        return occupancy;
+    }
+
+    // Days each booking overlaps the period, 0 if none
+    private int[] bookedDays(LocalDate from, LocalDate to) {
+        int first = (int) from.toEpochDay();
+        int days = dayCount(from, to);
+        int[] lo = new int[size];
+        int[] hi = new int[size];
+        clip(first, days, lo, hi);
+        int[] bookedDays = new int[size];
+        for (int i = 0; i < size; i++) {
+            bookedDays[i] = Math.max(0, hi[i] - lo[i] + 1);
+        }
+        return bookedDays;
+    }
+
+    // Booking days relative to the period start, clamped to [0, days - 1];
+    // lo > hi for bookings outside the period. Branch-free so it vectorizes.
+    private void clip(int first, int days, int[] lo, int[] hi) {
+        for (int i = 0; i < size; i++) {
+            lo[i] = Math.max(startDays[i] - first, 0);
+            hi[i] = Math.min(endDays[i] - first, days - 1);
+        }
+    }
+
+    private static int dayCount(LocalDate from, LocalDate to) {
+        long days = to.toEpochDay() - from.toEpochDay() + 1;
+        if (days < 1) {
+            throw new IllegalArgumentException("Report period must end on or after its start");
+        }
+        return (int) days;
+    }
+
+    private static int toEpochDay(Date date) {
+        return (int) date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
+    }
+}
@@ -1,15 +1,26 @@
 package Business.Billboard;
 
+import Business.DB4OUtil.DirtyTracker;
+import Business.DB4OUtil.LazyActivation;
+import Business.Events.ChangeBus;
+import Business.Events.ChangeEvent;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import Business.UserAccount.UserAccount;
+import Business.Utils.IdAllocator;
+import Business.Utils.IdSequence;
+import Business.WorkQueue.CampaignBookingRequest;
 
 /**
  * Represents a billboard in the ecosystem
  */
 public class Billboard {
 
+    // Waitlist entries that do not fit looked at per promotion
+    private static final int MAX_PROMOTION_SCAN = 64;
+
     private int boardId;
     private String location;
     private String size; // e.g., "14x48", "10x30"
@@ -19,12 +30,14 @@ public class Billboard {
     private String description;
     private boolean isLighted;
     private List<BookingRecord> bookingHistory;
-
-    private static int counter = 1000;
+    // Derived from bookingHistory; not persisted and rebuilt on first use
+    private transient BookingIntervalIndex bookingIndex;
+    // Owning directory, notified when indexed fields change
+    private transient BillboardDirectory directory;
 
     public Billboard(String location, String size, String type, double pricePerDay, String description,
             boolean isLighted) {
-        this.boardId = counter++;
+        this.boardId = IdAllocator.nextId(IdSequence.BILLBOARD);
         this.location = location;
         this.size = size;
         this.type = type;
@@ -45,7 +58,12 @@ public class Billboard {
     }
 
     public void setLocation(String location) {
+        String oldLocation = this.location;
         this.location = location;
+        if (directory != null) {
+            directory.locationChanged(this, oldLocation);
+        }
+        markDirty();
     }
 
     public String getSize() {
@@ -54,6 +72,7 @@ public class Billboard {
 
     public void setSize(String size) {
         this.size = size;
+        markDirty();
     }
 
     public String getType() {
@@ -61,7 +80,12 @@ public class Billboard {
     }
 
     public void setType(String type) {
+        String oldType = this.type;
         this.type = type;
+        if (directory != null) {
+            directory.typeChanged(this, oldType);
+        }
+        markDirty();
     }
 
     public double getPricePerDay() {
@@ -70,6 +94,7 @@ public class Billboard {
 
     public void setPricePerDay(double pricePerDay) {
         this.pricePerDay = pricePerDay;
+        markDirty();
     }
 
     public BillboardStatus getStatus() {
@@ -77,7 +102,18 @@ public class Billboard {
     }
 
     public void setStatus(BillboardStatus status) {
+        BillboardStatus oldStatus = this.status;
         this.status = status;
+        if (directory != null) {
+            directory.statusChanged(this, oldStatus);
+        }
+        markDirty();
+        if (oldStatus != status) {
+            ChangeBus.getInstance().publish(new ChangeEvent.BoardStatusChanged(this, oldStatus, status));
+        }
+        if (oldStatus == BillboardStatus.MAINTENANCE && status == BillboardStatus.AVAILABLE) {
+            promoteFromWaitlist();
+        }
     }
 
     public String getDescription() {
@@ -86,6 +122,7 @@ public class Billboard {
 
     public void setDescription(String description) {
         this.description = description;
+        markDirty();
     }
 
     public boolean isLighted() {
@@ -94,28 +131,215 @@ public class Billboard {
 
     public void setLighted(boolean lighted) {
         isLighted = lighted;
+        markDirty();
+    }
+
+    private void markDirty() {
+        // A dirty billboard is saved together with its lists, so any that
+        // are still unloaded must be activated first
+        getBookingHistory();
+        getMaintenanceHistory();
+        getWaitlist();
+        getHandWaitlist();
+        DirtyTracker.markDirty(this);
+    }
+
+    void setDirectory(BillboardDirectory directory) {
+        this.directory = directory;
     }
 
     public List<BookingRecord> getBookingHistory() {
+        LazyActivation.activate(bookingHistory, 2);
         return bookingHistory;
     }
 
-    public void addBooking(Date startDate, Date endDate, String clientName) {
-        BookingRecord record = new BookingRecord(startDate, endDate, clientName);
-        bookingHistory.add(record);
+    /**
+     * Returns a copy of the booking history taken under this board's lock,
+     * for readers off the event thread.
+     */
+    public synchronized List<BookingRecord> getBookingHistorySnapshot() {
+        return new ArrayList<>(getBookingHistory());
+    }
+
+    public synchronized void addBooking(Date startDate, Date endDate, String clientName) {
+        BookingRecord record = new BookingRecord(startDate, endDate, clientName, pricePerDay);
+        getBookingHistory().add(record);
+        getBookingIndex().add(startDate, endDate);
+        markDirty();
+        ChangeBus.getInstance().publish(new ChangeEvent.BookingAdded(this, record));
     }
 
-    public boolean isAvailableForDates(Date startDate, Date endDate) {
+    public synchronized boolean isAvailableForDates(Date startDate, Date endDate) {
         if (status != BillboardStatus.AVAILABLE && status != BillboardStatus.BOOKED) {
             return false;
         }
 
-        for (BookingRecord record : bookingHistory) {
-            if (record.overlaps(startDate, endDate)) {
-                return false;
+        return !getBookingIndex().overlaps(startDate, endDate);
+    }
+
+    /**
+     * Returns the booking with exactly these dates and client, or null.
+     */
+    public synchronized BookingRecord findBooking(Date startDate, Date endDate, String clientName) {
+        for (BookingRecord record : getBookingHistory()) {
+            if (record.getStartDate().equals(startDate) && record.getEndDate().equals(endDate)
+                    && record.getClientName().equals(clientName)) {
+                return record;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes the booking and releases its dates, then promotes from the
+     * waitlist. Returns false if the booking is not on this board.
+     */
+    public boolean cancelBooking(BookingRecord record) {
+        // Same stripe as approvals and multi-board reservations
+        BoardLocks.Held held = BoardLocks.lock(boardId);
+        try {
+            synchronized (this) {
+                List<BookingRecord> history = getBookingHistory();
+                int pos = indexOf(history, record);
+                if (pos < 0) {
+                    return false;
+                }
+                history.remove(pos);
+                getBookingIndex().remove(record.getStartDate(), record.getEndDate());
+                markDirty();
+            }
+            promoteFromWaitlist();
+            return true;
+        } finally {
+            held.release();
+        }
+    }
+
+    /**
+     * Moves the booking to new dates. Returns false, leaving the booking
+     * unchanged, if it is not on this board or the new dates overlap
+     * another booking.
+     */
+    public boolean modifyBooking(BookingRecord record, Date startDate, Date endDate) {
+        if (startDate == null || endDate == null || endDate.before(startDate)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        BoardLocks.Held held = BoardLocks.lock(boardId);
+        try {
+            boolean released;
+            synchronized (this) {
+                if (indexOf(getBookingHistory(), record) < 0) {
+                    return false;
+                }
+                BookingIntervalIndex index = getBookingIndex();
+                Date oldStart = record.getStartDate();
+                Date oldEnd = record.getEndDate();
+                index.remove(oldStart, oldEnd);
+                if (index.overlaps(startDate, endDate)) {
+                    index.add(oldStart, oldEnd);
+                    return false;
+                }
+                index.add(startDate, endDate);
+                record.startDate = startDate;
+                record.endDate = endDate;
+                DirtyTracker.markDirty(record);
+                markDirty();
+                released = startDate.after(oldStart) || endDate.before(oldEnd);
+            }
+            if (released) {
+                promoteFromWaitlist();
+            } else {
+                refreshStatus();
+            }
+            return true;
+        } finally {
+            held.release();
+        }
+    }
+
+    /**
+     * Earliest start, from the start of from's day on, of a window of the
+     * given length that is free on this board and ends by latest, or null
+     * if there is none or the board is out of service.
+     */
+    public synchronized Date findEarliestFreeStart(Date from, long lengthMillis, Date latest) {
+        if (status != BillboardStatus.AVAILABLE && status != BillboardStatus.BOOKED) {
+            return null;
+        }
+        long dayStart = BookingIntervalIndex.startOfDay(from.getTime());
+        long start = getBookingIndex().earliestGap(dayStart, lengthMillis, latest.getTime());
+        return start < 0 ? null : new Date(start);
+    }
+
+    /**
+     * Returns true if a booking covers the instant.
+     */
+    public synchronized boolean isBookedAt(Date instant) {
+        return getBookingIndex().isBookedAt(instant.getTime());
+    }
+
+    /**
+     * Status the board has at the instant: BOOKED or AVAILABLE from its
+     * bookings, unless it is out of service (maintenance, permits).
+     */
+    public synchronized BillboardStatus getStatusAt(Date instant) {
+        return statusAt(instant.getTime());
+    }
+
+    /**
+     * Sets BOOKED or AVAILABLE from whether a booking covers the current
+     * time, and tells the status service when that next changes.
+     */
+    public void refreshStatus() {
+        refreshStatus(System.currentTimeMillis());
+    }
+
+    // Called without this board's monitor held, since setStatus notifies the directory
+    void refreshStatus(long now) {
+        BoardLocks.Held held = BoardLocks.lock(boardId);
+        try {
+            BillboardStatus derived;
+            long nextChange;
+            synchronized (this) {
+                derived = statusAt(now);
+                nextChange = getBookingIndex().nextChange(now);
+            }
+            if (derived != status) {
+                setStatus(derived);
+            }
+            BillboardDirectory owner = directory;
+            if (owner != null) {
+                owner.bookingsChanged(this, nextChange);
+            }
+        } finally {
+            held.release();
+        }
+    }
+
+    private BillboardStatus statusAt(long time) {
+        if (status != BillboardStatus.AVAILABLE && status != BillboardStatus.BOOKED) {
+            return status;
+        }
+        return getBookingIndex().isBookedAt(time) ? BillboardStatus.BOOKED : BillboardStatus.AVAILABLE;
+    }
+
+    private static int indexOf(List<BookingRecord> history, BookingRecord record) {
+        for (int i = 0; i < history.size(); i++) {
+            if (history.get(i) == record) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private synchronized BookingIntervalIndex getBookingIndex() {
+        if (bookingIndex == null) {
+            bookingIndex = new BookingIntervalIndex();
+            for (BookingRecord record : getBookingHistory()) {
+                bookingIndex.add(record.getStartDate(), record.getEndDate());
             }
         }
-        return true;
+        return bookingIndex;
     }
 
     @Override
@@ -131,11 +355,17 @@ public class Billboard {
         private Date endDate;
         private String clientName;
         private Date bookingDate;
+        private Double pricePerDay; // board price when booked; null on older records
 
         public BookingRecord(Date startDate, Date endDate, String clientName) {
+            this(startDate, endDate, clientName, null);
+        }
+
+        public BookingRecord(Date startDate, Date endDate, String clientName, Double pricePerDay) {
             this.startDate = startDate;
             this.endDate = endDate;
             this.clientName = clientName;
+            this.pricePerDay = pricePerDay;
             this.bookingDate = new Date();
         }
 
@@ -158,27 +388,186 @@ public class Billboard {
         public Date getBookingDate() {
             return bookingDate;
         }
+
+        /**
+         * Price per day the booking was made at, or null for bookings
+         * recorded before prices were kept with them.
+         */
+        public Double getPricePerDay() {
+            return pricePerDay;
+        }
     }
 
     // Maintenance History
     private List<MaintenanceRecord> maintenanceHistory = new ArrayList<>();
 
     public List<MaintenanceRecord> getMaintenanceHistory() {
+        LazyActivation.activate(maintenanceHistory, 2);
         return maintenanceHistory;
     }
 
-    public void addMaintenanceRecord(MaintenanceRecord record) {
-        maintenanceHistory.add(record);
+    public synchronized void addMaintenanceRecord(MaintenanceRecord record) {
+        getMaintenanceHistory().add(record);
+        markDirty();
     }
 
-    // Waitlist
+    // Waitlisted booking requests, kept in heap order by waitlistPolicy
+    // (best entry first)
     private List<WaitlistEntry> waitlist = new ArrayList<>();
+    // Entries that can never become bookings: added by hand, or requests
+    // without dates. Kept out of the heap so promotion never looks at them.
+    private List<WaitlistEntry> handWaitlist = new ArrayList<>();
+    private WaitlistPolicy waitlistPolicy = WaitlistPolicy.REQUEST_DATE;
+    // Lists saved before the waitlist was heap-ordered are reordered on first use
+    private transient boolean waitlistOrdered;
 
+    /**
+     * Returns the waitlisted booking requests in heap order: the best entry
+     * is first but the rest are only partially ordered. Entries added by
+     * hand are in getHandWaitlist. See getWaitlistByPriority.
+     */
     public List<WaitlistEntry> getWaitlist() {
+        // Entries plus the accounts and requests they hold
+        LazyActivation.activate(waitlist, 3);
         return waitlist;
     }
 
-    public void joinWaitlist(UserAccount user, String message) {
-        waitlist.add(new WaitlistEntry(user, message));
+    /**
+     * Returns the entries that cannot be promoted into bookings, in the
+     * order they were added.
+     */
+    public List<WaitlistEntry> getHandWaitlist() {
+        if (handWaitlist == null) {
+            handWaitlist = new ArrayList<>(); // Billboards saved before it existed
+        }
+        LazyActivation.activate(handWaitlist, 3);
+        return handWaitlist;
+    }
+
+    /**
+     * Every entry, both lists together, best first.
+     */
+    public synchronized List<WaitlistEntry> getWaitlistByPriority() {
+        List<WaitlistEntry> sorted = new ArrayList<>(getOrderedWaitlist());
+        sorted.addAll(getHandWaitlist());
+        sorted.sort(getWaitlistPolicy().getOrder());
+        return sorted;
+    }
+
+    public synchronized WaitlistPolicy getWaitlistPolicy() {
+        // Null for billboards saved before waitlists had a policy
+        return waitlistPolicy == null ? WaitlistPolicy.REQUEST_DATE : waitlistPolicy;
+    }
+
+    public synchronized void setWaitlistPolicy(WaitlistPolicy waitlistPolicy) {
+        this.waitlistPolicy = waitlistPolicy;
+        WaitlistHeap.heapify(getOrderedWaitlist(), waitlistPolicy.getOrder());
+        waitlistOrdered = true;
+        markDirty();
+    }
+
+    public synchronized void joinWaitlist(UserAccount user, String message) {
+        getHandWaitlist().add(new WaitlistEntry(user, message));
+        markDirty();
+    }
+
+    /**
+     * Waitlists a booking request that conflicted with an existing booking,
+     * so it can be promoted once the board frees up. A request without
+     * dates can never be booked and is listed with the hand entries.
+     */
+    public synchronized void joinWaitlist(CampaignBookingRequest request, String message) {
+        WaitlistEntry entry = new WaitlistEntry(request, message);
+        if (request.getStartDate() == null || request.getEndDate() == null) {
+            getHandWaitlist().add(entry);
+        } else {
+            WaitlistHeap.push(getOrderedWaitlist(), entry, getWaitlistPolicy().getOrder());
+        }
+        markDirty();
+    }
+
+    /**
+     * Books the best waitlisted request whose dates are free, marks it
+     * Approved and refreshes the status. Called when the board returns to
+     * service or a booking is removed. Returns the promoted entry, or null
+     * if none fits.
+     *
+     * Entries come off the heap best first, and each one that does not fit
+     * yet is pushed back, so a call costs O(k log n) for the k entries it
+     * looks at. To bound that, at most MAX_PROMOTION_SCAN entries that do
+     * not fit are looked at per call; a fitting entry further down waits
+     * for the next cancellation or return to service. Entries already
+     * processed elsewhere are dropped and do not count, and entries that
+     * can never be booked are kept in the hand waitlist, not the heap.
+     */
+    public WaitlistEntry promoteFromWaitlist() {
+        // Same stripe as approvals and multi-board reservations
+        BoardLocks.Held held = BoardLocks.lock(boardId);
+        try {
+            WaitlistEntry promoted;
+            synchronized (this) {
+                promoted = promoteBest();
+            }
+            refreshStatus();
+            return promoted;
+        } finally {
+            held.release();
+        }
+    }
+
+    private WaitlistEntry promoteBest() {
+        List<WaitlistEntry> heap = getOrderedWaitlist();
+        Comparator<WaitlistEntry> order = getWaitlistPolicy().getOrder();
+        List<WaitlistEntry> skipped = new ArrayList<>();
+        WaitlistEntry promoted = null;
+        boolean changed = false;
+        while (promoted == null && !heap.isEmpty() && skipped.size() < MAX_PROMOTION_SCAN) {
+            WaitlistEntry entry = WaitlistHeap.poll(heap, order);
+            CampaignBookingRequest request = entry.getRequest();
+            if (request == null || request.getStartDate() == null || request.getEndDate() == null) {
+                getHandWaitlist().add(entry); // Can never be booked; keep it out of the heap
+                changed = true;
+            } else if (!request.getStatus().equals("Waitlisted")) {
+                changed = true;
+            } else if (entry.isPromotable() && isAvailableForDates(request.getStartDate(), request.getEndDate())) {
+                addBooking(request.getStartDate(), request.getEndDate(), request.getClientName());
+                request.setStatus("Approved");
+                request.setMessage("Promoted from waitlist.");
+                request.setResolveDate(new Date());
+                promoted = entry;
+                changed = true;
+            } else {
+                skipped.add(entry);
+            }
+        }
+        for (WaitlistEntry entry : skipped) {
+            WaitlistHeap.push(heap, entry, order);
+        }
+        if (changed) {
+            markDirty();
+        }
+        return promoted;
+    }
+
+    private List<WaitlistEntry> getOrderedWaitlist() {
+        List<WaitlistEntry> list = getWaitlist();
+        if (!waitlistOrdered) {
+            // Older lists mix in hand entries; move them out before ordering
+            List<WaitlistEntry> hand = new ArrayList<>();
+            for (WaitlistEntry entry : list) {
+                CampaignBookingRequest request = entry.getRequest();
+                if (request == null || request.getStartDate() == null || request.getEndDate() == null) {
+                    hand.add(entry);
+                }
+            }
+            if (!hand.isEmpty()) {
+                list.removeAll(hand);
+                getHandWaitlist().addAll(hand);
+                markDirty();
+            }
+            WaitlistHeap.heapify(list, getWaitlistPolicy().getOrder());
+            waitlistOrdered = true;
+        }
+        return list;
     }
 }
@@ -1,104 +1,393 @@
 package Business.Billboard;
 
+import Business.DB4OUtil.DirtyTracker;
+import Business.Utils.IntIntMap;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Directory to manage all billboards in the system
  */
 public class BillboardDirectory {
 
+    // Length of the substrings used by the location index
+    private static final int GRAM_LENGTH = 3;
+
     private ArrayList<Billboard> billboards;
 
+    // Indexes derived from billboards. Not persisted; rebuilt on first use.
+    private transient IntIntMap positionById; // boardId -> position in billboards
+    private transient Map<BillboardStatus, Set<Billboard>> statusIndex;
+    private transient Map<String, Set<Billboard>> typeIndex;
+    private transient Map<String, Set<Billboard>> locationIndex;
+    // Flips booked/available statuses as bookings start and end; set with the indexes
+    private transient volatile BillboardStatusService statusService;
+
     public BillboardDirectory() {
         this.billboards = new ArrayList<>();
     }
 
-    public Billboard createBillboard(String location, String size, String type,
+    public synchronized Billboard createBillboard(String location, String size, String type,
             double pricePerDay, String description, boolean isLighted) {
         Billboard billboard = new Billboard(location, size, type, pricePerDay, description, isLighted);
+        ensureIndexes();
         billboards.add(billboard);
+        positionById.put(billboard.getBoardId(), billboards.size() - 1);
+        index(billboard);
+        DirtyTracker.markDirty(this);
         return billboard;
     }
 
-    public ArrayList<Billboard> getBillboards() {
+    public synchronized ArrayList<Billboard> getBillboards() {
         return billboards;
     }
 
-    public Billboard getBillboardById(int boardId) {
-        for (Billboard billboard : billboards) {
-            if (billboard.getBoardId() == boardId) {
-                return billboard;
-            }
-        }
-        return null;
+    /**
+     * Returns a copy of the billboards taken under the directory's lock,
+     * for readers off the event thread.
+     */
+    public synchronized List<Billboard> getBillboardsSnapshot() {
+        return new ArrayList<>(billboards);
     }
 
-    public List<Billboard> getBillboardsByLocation(String location) {
-        return billboards.stream()
-                .filter(b -> b.getLocation().toLowerCase().contains(location.toLowerCase()))
-                .collect(Collectors.toList());
+    public synchronized Billboard getBillboardById(int boardId) {
+        ensureIndexes();
+        int position = positionById.get(boardId);
+        return position < 0 ? null : billboards.get(position);
     }
 
-    public List<Billboard> getBillboardsByStatus(BillboardStatus status) {
-        return billboards.stream()
-                .filter(b -> b.getStatus() == status)
-                .collect(Collectors.toList());
+    public synchronized List<Billboard> getBillboardsByLocation(String location) {
+        return new ArrayList<>(findByLocation(location.toLowerCase()));
     }
 
-    public List<Billboard> getAvailableBillboards() {
+    public synchronized List<Billboard> getBillboardsByStatus(BillboardStatus status) {
+        ensureIndexes();
+        return new ArrayList<>(statusIndex.get(status));
+    }
+
+    public synchronized List<Billboard> getAvailableBillboards() {
         return getBillboardsByStatus(BillboardStatus.AVAILABLE);
     }
 
-    public List<Billboard> getBillboardsByType(String type) {
-        return billboards.stream()
-                .filter(b -> b.getType().equalsIgnoreCase(type))
-                .collect(Collectors.toList());
+    public synchronized List<Billboard> getBillboardsByType(String type) {
+        ensureIndexes();
+        return new ArrayList<>(typeIndex.getOrDefault(normalize(type), Collections.emptySet()));
     }
 
-    public List<Billboard> searchBillboards(String location, String type,
+    public synchronized List<Billboard> searchBillboards(String location, String type,
             Date startDate, Date endDate) {
-        return billboards.stream()
-                .filter(b -> location == null || location.isEmpty() ||
-                        b.getLocation().toLowerCase().contains(location.toLowerCase()))
-                .filter(b -> type == null || type.isEmpty() ||
-                        b.getType().equalsIgnoreCase(type))
+        return matching(location, type)
                 .filter(b -> startDate == null || endDate == null ||
                         b.isAvailableForDates(startDate, endDate))
                 .collect(Collectors.toList());
     }
 
-    public boolean deleteBillboard(int boardId) {
-        Billboard billboard = getBillboardById(boardId);
-        if (billboard != null) {
-            billboards.remove(billboard);
-            return true;
+    /**
+     * Earliest free window of the given number of days on each board that
+     * matches the location and type filters (null or empty matches all),
+     * starting no earlier than from and ending by horizon. Ordered by start;
+     * boards without such a window are left out.
+     */
+    public synchronized List<FreeSlot> findFreeSlots(int days, String location, String type, Date from,
+            Date horizon) {
+        List<FreeSlot> slots = new ArrayList<>();
+        forEachFreeSlot(days, location, type, from, horizon, slots::add);
+        slots.sort(FreeSlot.BY_START);
+        return slots;
+    }
+
+    /**
+     * The k boards from findFreeSlots whose windows start first, without
+     * sorting the rest.
+     */
+    public synchronized List<FreeSlot> findEarliestFreeSlots(int days, String location, String type, Date from,
+            Date horizon, int k) {
+        if (k < 1) {
+            return new ArrayList<>();
         }
-        return false;
+        // Latest of the k earliest slots so far at the head
+        PriorityQueue<FreeSlot> earliest = new PriorityQueue<>(k, FreeSlot.BY_START.reversed());
+        forEachFreeSlot(days, location, type, from, horizon, slot -> {
+            if (earliest.size() < k) {
+                earliest.add(slot);
+            } else if (FreeSlot.BY_START.compare(slot, earliest.peek()) < 0) {
+                earliest.poll();
+                earliest.add(slot);
+            }
+        });
+        List<FreeSlot> slots = new ArrayList<>(earliest);
+        slots.sort(FreeSlot.BY_START);
+        return slots;
     }
 
-    public int getTotalBillboards() {
+    private void forEachFreeSlot(int days, String location, String type, Date from, Date horizon,
+            Consumer<FreeSlot> action) {
+        if (days < 1) {
+            throw new IllegalArgumentException("Duration must be at least one day");
+        }
+        // Whole days: from midnight of the first day to the last millisecond of the last
+        long length = TimeUnit.DAYS.toMillis(days) - 1;
+        matching(location, type).forEach(b -> {
+            Date start = b.findEarliestFreeStart(from, length, horizon);
+            if (start != null) {
+                action.accept(new FreeSlot(b, start, new Date(start.getTime() + length)));
+            }
+        });
+    }
+
+    // Boards matching the filters, narrowed with the indexes first
+    private Stream<Billboard> matching(String location, String type) {
+        boolean filterLocation = location != null && !location.isEmpty();
+        boolean filterType = type != null && !type.isEmpty();
+
+        Collection<Billboard> candidates = billboards;
+        if (filterType) {
+            ensureIndexes();
+            candidates = typeIndex.getOrDefault(normalize(type), Collections.emptySet());
+        } else if (filterLocation) {
+            candidates = findByLocation(location.toLowerCase());
+        }
+
+        return candidates.stream()
+                .filter(b -> !filterLocation ||
+                        b.getLocation().toLowerCase().contains(location.toLowerCase()));
+    }
+
+    /**
+     * Removes a billboard in constant time by moving the last billboard into
+     * its slot, so the order of the remaining billboards may change.
+     */
+    public synchronized boolean deleteBillboard(int boardId) {
+        ensureIndexes();
+        int position = positionById.remove(boardId);
+        if (position < 0) {
+            return false;
+        }
+        Billboard billboard = billboards.get(position);
+        Billboard last = billboards.remove(billboards.size() - 1);
+        if (last != billboard) {
+            billboards.set(position, last);
+            positionById.put(last.getBoardId(), position);
+        }
+        unindex(billboard);
+        billboard.setDirectory(null);
+        if (statusService != null) {
+            statusService.unschedule(billboard);
+        }
+        DirtyTracker.markDirty(this);
+        return true;
+    }
+
+    public synchronized int getTotalBillboards() {
         return billboards.size();
     }
 
-    public int getAvailableBillboardsCount() {
-        return (int) billboards.stream()
-                .filter(b -> b.getStatus() == BillboardStatus.AVAILABLE)
-                .count();
+    public synchronized int getAvailableBillboardsCount() {
+        ensureIndexes();
+        return statusIndex.get(BillboardStatus.AVAILABLE).size();
     }
 
-    public int getBookedBillboardsCount() {
-        return (int) billboards.stream()
-                .filter(b -> b.getStatus() == BillboardStatus.BOOKED)
-                .count();
+    public synchronized int getBookedBillboardsCount() {
+        ensureIndexes();
+        return statusIndex.get(BillboardStatus.BOOKED).size();
     }
 
-    public double getTotalRevenuePotential() {
-        return billboards.stream()
-                .filter(b -> b.getStatus() == BillboardStatus.BOOKED)
+    public synchronized double getTotalRevenuePotential() {
+        ensureIndexes();
+        return statusIndex.get(BillboardStatus.BOOKED).stream()
                 .mapToDouble(Billboard::getPricePerDay)
                 .sum();
     }
+
+    // Index maintenance, called back by Billboard setters
+
+    // Not synchronized: boards call this while holding their lock stripe
+    void bookingsChanged(Billboard billboard, long nextStatusChange) {
+        BillboardStatusService service = statusService;
+        if (service != null) {
+            service.schedule(billboard, nextStatusChange);
+        }
+    }
+
+    synchronized void statusChanged(Billboard billboard, BillboardStatus oldStatus) {
+        if (statusIndex == null) {
+            return;
+        }
+        if (oldStatus != null) {
+            statusIndex.get(oldStatus).remove(billboard);
+        }
+        if (billboard.getStatus() != null) {
+            statusIndex.get(billboard.getStatus()).add(billboard);
+        }
+    }
+
+    synchronized void typeChanged(Billboard billboard, String oldType) {
+        if (typeIndex == null) {
+            return;
+        }
+        removeFrom(typeIndex, normalize(oldType), billboard);
+        addTo(typeIndex, normalize(billboard.getType()), billboard);
+    }
+
+    synchronized void locationChanged(Billboard billboard, String oldLocation) {
+        if (locationIndex == null) {
+            return;
+        }
+        for (String gram : grams(oldLocation)) {
+            removeFrom(locationIndex, gram, billboard);
+        }
+        for (String gram : grams(billboard.getLocation())) {
+            addTo(locationIndex, gram, billboard);
+        }
+    }
+
+    private void ensureIndexes() {
+        if (statusIndex != null) {
+            return;
+        }
+        positionById = new IntIntMap(billboards.size(), -1);
+        statusIndex = new EnumMap<>(BillboardStatus.class);
+        for (BillboardStatus status : BillboardStatus.values()) {
+            statusIndex.put(status, new LinkedHashSet<>());
+        }
+        typeIndex = new HashMap<>();
+        locationIndex = new HashMap<>();
+        for (int i = 0; i < billboards.size(); i++) {
+            positionById.put(billboards.get(i).getBoardId(), i);
+            index(billboards.get(i));
+        }
+        statusService = BillboardStatusService.getInstance();
+        statusService.watch(this);
+    }
+
+    private void index(Billboard billboard) {
+        billboard.setDirectory(this);
+        if (billboard.getStatus() != null) {
+            statusIndex.get(billboard.getStatus()).add(billboard);
+        }
+        addTo(typeIndex, normalize(billboard.getType()), billboard);
+        for (String gram : grams(billboard.getLocation())) {
+            addTo(locationIndex, gram, billboard);
+        }
+    }
+
+    private void unindex(Billboard billboard) {
+        if (billboard.getStatus() != null) {
+            statusIndex.get(billboard.getStatus()).remove(billboard);
+        }
+        removeFrom(typeIndex, normalize(billboard.getType()), billboard);
+        for (String gram : grams(billboard.getLocation())) {
+            removeFrom(locationIndex, gram, billboard);
+        }
+    }
+
+    /**
+     * Boards whose lowercased location contains the given lowercased text.
+     * Queries of at least GRAM_LENGTH characters are answered from the
+     * n-gram index; shorter ones fall back to a scan.
+     */
+    private Collection<Billboard> findByLocation(String text) {
+        if (text.length() < GRAM_LENGTH) {
+            return billboards.stream()
+                    .filter(b -> b.getLocation().toLowerCase().contains(text))
+                    .collect(Collectors.toList());
+        }
+        ensureIndexes();
+
+        // Start from the rarest gram, then confirm the full substring match
+        Set<Billboard> smallest = null;
+        for (String gram : grams(text)) {
+            Set<Billboard> posting = locationIndex.get(gram);
+            if (posting == null) {
+                return Collections.emptyList();
+            }
+            if (smallest == null || posting.size() < smallest.size()) {
+                smallest = posting;
+            }
+        }
+        return smallest.stream()
+                .filter(b -> b.getLocation().toLowerCase().contains(text))
+                .collect(Collectors.toList());
+    }
+
+    private static Set<String> grams(String location) {
+        Set<String> grams = new LinkedHashSet<>();
+        if (location == null) {
+            return grams;
+        }
+        String normalized = location.toLowerCase();
+        for (int i = 0; i + GRAM_LENGTH <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase();
+    }
+
+    private static void addTo(Map<String, Set<Billboard>> index, String key, Billboard billboard) {
+        index.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(billboard);
+    }
+
+    private static void removeFrom(Map<String, Set<Billboard>> index, String key, Billboard billboard) {
+        Set<Billboard> set = index.get(key);
+        if (set != null) {
+            set.remove(billboard);
+            if (set.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    /**
+     * A free window on a billboard. Both ends are inclusive, matching
+     * Billboard.isAvailableForDates.
+     */
+    public static class FreeSlot {
+        static final Comparator<FreeSlot> BY_START = Comparator
+                .comparing((FreeSlot slot) -> slot.startDate)
+                .thenComparingInt(slot -> slot.billboard.getBoardId());
+
+        private final Billboard billboard;
+        private final Date startDate;
+        private final Date endDate;
+
+        FreeSlot(Billboard billboard, Date startDate, Date endDate) {
+            this.billboard = billboard;
+            this.startDate = startDate;
+            this.endDate = endDate;
+        }
+
+        public Billboard getBillboard() {
+            return billboard;
+        }
+
+        public Date getStartDate() {
+            return startDate;
+        }
+
+        public Date getEndDate() {
+            return endDate;
+        }
+
+        @Override
+        public String toString() {
+            return billboard + ": " + startDate + " - " + endDate;
+        }
+    }
 }
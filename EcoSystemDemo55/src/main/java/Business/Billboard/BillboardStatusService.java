@@ -0,0 +1,173 @@
+package Business.Billboard;
+
+import Business.DB4OUtil.StoreGate;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps BOOKED and AVAILABLE statuses in step with the clock.
+ *
+ * Each watched board has at most one pending transition: the next instant
+ * at which a booking starts or ends on it. Transitions sit in a min-heap by
+ * time and a single sweeper thread sleeps until the earliest one is due,
+ * refreshes that board and schedules its next transition. Nothing is
+ * rescanned on a timer; boards without bookings are never visited.
+ *
+ * BillboardDirectory watches itself when it builds its indexes, and boards
+ * report new transitions through their directory whenever their bookings
+ * or status change. Sweeper tasks run through StoreGate, so they pause
+ * while the system is being stored.
+ */
+public class BillboardStatusService {
+
+    private static final Logger LOGGER = Logger.getLogger(BillboardStatusService.class.getName());
+    private static BillboardStatusService service;
+
+    private final PriorityQueue<Transition> transitions;
+    private final Map<Billboard, Transition> pending; // board -> its live transition
+    private final ScheduledExecutorService sweeper;
+    private ScheduledFuture<?> wakeUp;
+    private long wakeUpTime = Long.MAX_VALUE;
+    private int stale; // cancelled transitions still in the heap
+
+    public synchronized static BillboardStatusService getInstance() {
+        if (service == null) {
+            service = new BillboardStatusService();
+        }
+        return service;
+    }
+
+    private BillboardStatusService() {
+        transitions = new PriorityQueue<>((a, b) -> Long.compare(a.time, b.time));
+        pending = new IdentityHashMap<>();
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "billboard-status-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Refreshes, on the sweeper thread, every board in the directory, which
+     * also schedules the next transition of each board with bookings. A
+     * board left BOOKED after its last booking ended becomes AVAILABLE.
+     */
+    public void watch(BillboardDirectory directory) {
+        sweeper.execute(() -> StoreGate.run(() -> {
+            List<Billboard> boards = directory.getBillboardsSnapshot();
+            long now = System.currentTimeMillis();
+            for (Billboard b : boards) {
+                refresh(b, now);
+            }
+        }));
+    }
+
+    /**
+     * Number of boards with a transition scheduled.
+     */
+    public synchronized int getScheduledCount() {
+        return pending.size();
+    }
+
+    // Replaces the board's transition; Long.MAX_VALUE means none
+    synchronized void schedule(Billboard billboard, long time) {
+        cancel(billboard);
+        if (time == Long.MAX_VALUE) {
+            return;
+        }
+        Transition transition = new Transition(billboard, time);
+        pending.put(billboard, transition);
+        transitions.add(transition);
+        if (time < wakeUpTime) {
+            wakeUpAt(time);
+        }
+    }
+
+    synchronized void unschedule(Billboard billboard) {
+        cancel(billboard);
+    }
+
+    private void cancel(Billboard billboard) {
+        Transition old = pending.remove(billboard);
+        if (old == null) {
+            return;
+        }
+        // Left in the heap and skipped when polled, unless most of it is stale
+        old.cancelled = true;
+        stale++;
+        if (stale > 64 && stale > transitions.size() / 2) {
+            transitions.clear();
+            transitions.addAll(pending.values());
+            stale = 0;
+        }
+    }
+
+    private void wakeUpAt(long time) {
+        if (wakeUp != null) {
+            wakeUp.cancel(false);
+        }
+        wakeUpTime = time;
+        long delay = Math.max(0, time - System.currentTimeMillis());
+        wakeUp = sweeper.schedule(() -> StoreGate.run(this::sweep), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void sweep() {
+        long now = System.currentTimeMillis();
+        List<Billboard> due = new ArrayList<>();
+        synchronized (this) {
+            wakeUp = null;
+            wakeUpTime = Long.MAX_VALUE;
+            while (!transitions.isEmpty() && transitions.peek().time <= now) {
+                Transition transition = transitions.poll();
+                if (transition.cancelled) {
+                    stale--;
+                } else {
+                    pending.remove(transition.billboard);
+                    due.add(transition.billboard);
+                }
+            }
+        }
+        // Boards are refreshed outside this lock; each refresh schedules the board again
+        for (Billboard b : due) {
+            refresh(b, now);
+        }
+        synchronized (this) {
+            while (!transitions.isEmpty() && transitions.peek().cancelled) {
+                transitions.poll();
+                stale--;
+            }
+            // Refreshed boards may have set a wake-up later than what is left
+            if (!transitions.isEmpty() && transitions.peek().time < wakeUpTime) {
+                wakeUpAt(transitions.peek().time);
+            }
+        }
+    }
+
+    private static void refresh(Billboard billboard, long now) {
+        try {
+            billboard.refreshStatus(now);
+        } catch (RuntimeException ex) {
+            LOGGER.log(Level.WARNING, "Could not refresh status of " + billboard, ex);
+        }
+    }
+
+    private static class Transition {
+        private final Billboard billboard;
+        private final long time;
+        private boolean cancelled;
+
+        Transition(Billboard billboard, long time) {
+            this.billboard = billboard;
+            this.time = time;
+        }
+    }
+}
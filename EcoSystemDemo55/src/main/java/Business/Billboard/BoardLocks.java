@@ -0,0 +1,72 @@
+package Business.Billboard;
+
+import java.util.Collection;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped locks for booking billboards. A thread that checks and books
+ * several boards holds the stripes of all of them, so bookings on disjoint
+ * boards proceed in parallel while overlapping ones take turns. Stripes are
+ * always acquired in ascending order, so two multi-board bookings cannot
+ * deadlock.
+ */
+public class BoardLocks {
+
+    private static final int STRIPES = 64;
+    private static final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    static {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    private BoardLocks() {
+    }
+
+    /**
+     * Locks the stripes of the given boards. Release the returned handle in
+     * a finally block.
+     */
+    public static Held lock(Collection<Integer> boardIds) {
+        TreeSet<Integer> stripes = new TreeSet<>();
+        for (int boardId : boardIds) {
+            stripes.add(stripeOf(boardId));
+        }
+        int[] held = new int[stripes.size()];
+        int count = 0;
+        for (int stripe : stripes) {
+            locks[stripe].lock();
+            held[count++] = stripe;
+        }
+        return new Held(held);
+    }
+
+    public static Held lock(int boardId) {
+        int stripe = stripeOf(boardId);
+        locks[stripe].lock();
+        return new Held(new int[]{stripe});
+    }
+
+    private static int stripeOf(int boardId) {
+        return Math.floorMod(boardId * 0x9E3779B9, STRIPES);
+    }
+
+    /**
+     * Stripes held by one lock call.
+     */
+    public static class Held {
+        private final int[] stripes;
+
+        private Held(int[] stripes) {
+            this.stripes = stripes;
+        }
+
+        public void release() {
+            for (int i = stripes.length - 1; i >= 0; i--) {
+                locks[stripes[i]].unlock();
+            }
+        }
+    }
+}
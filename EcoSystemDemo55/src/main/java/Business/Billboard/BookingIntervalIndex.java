@@ -0,0 +1,220 @@
+package Business.Billboard;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Sorted interval index over a billboard's booking dates (epoch millis).
+ * Intervals are kept ordered by start time alongside a running maximum of
+ * end times, so an overlap check is a single binary search.
+ *
+ * Bookings are by whole days: a booking covers its start day from
+ * midnight through the last millisecond of its end day, in the system
+ * time zone, whatever time of day its dates carry. A booking made with
+ * the same instant as start and end therefore books that whole day.
+ */
+public class BookingIntervalIndex {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private long[] starts;
+    private long[] ends;
+    private long[] maxEnds; // maxEnds[i] = max(ends[0..i])
+    private int size;
+
+    public BookingIntervalIndex() {
+        starts = new long[INITIAL_CAPACITY];
+        ends = new long[INITIAL_CAPACITY];
+        maxEnds = new long[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    /**
+     * Adds the days from startDate through endDate to the index.
+     */
+    public void add(Date startDate, Date endDate) {
+        if (startDate == null || endDate == null) {
+            return;
+        }
+        long start = startOfDay(startDate.getTime());
+        long end = endOfDay(endDate.getTime());
+
+        if (size == starts.length) {
+            int capacity = starts.length * 2;
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            maxEnds = Arrays.copyOf(maxEnds, capacity);
+        }
+
+        // Insert after any intervals with the same start to keep insertion stable
+        int pos = countStartingAtOrBefore(start);
+        System.arraycopy(starts, pos, starts, pos + 1, size - pos);
+        System.arraycopy(ends, pos, ends, pos + 1, size - pos);
+        starts[pos] = start;
+        ends[pos] = end;
+        size++;
+
+        recomputeMaxEnds(pos);
+    }
+
+    /**
+     * Returns true if any indexed booking shares a day with the days from
+     * checkStart through checkEnd.
+     */
+    public boolean overlaps(Date checkStart, Date checkEnd) {
+        // Intervals starting after checkEnd can never overlap; among the rest,
+        // one overlaps iff the latest end reaches checkStart.
+        int candidates = countStartingAtOrBefore(endOfDay(checkEnd.getTime()));
+        return candidates > 0 && maxEnds[candidates - 1] >= startOfDay(checkStart.getTime());
+    }
+
+    /**
+     * Removes one booking of the days from startDate through endDate.
+     * Returns false if the index holds no such booking.
+     */
+    public boolean remove(Date startDate, Date endDate) {
+        if (startDate == null || endDate == null) {
+            return false;
+        }
+        long start = startOfDay(startDate.getTime());
+        long end = endOfDay(endDate.getTime());
+
+        // Intervals with this start sit in [first, last)
+        int first = countStartingAtOrBefore(start - 1);
+        int last = countStartingAtOrBefore(start);
+        for (int pos = first; pos < last; pos++) {
+            if (ends[pos] == end) {
+                System.arraycopy(starts, pos + 1, starts, pos, size - pos - 1);
+                System.arraycopy(ends, pos + 1, ends, pos, size - pos - 1);
+                size--;
+                recomputeMaxEnds(pos);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if any indexed interval contains the instant.
+     */
+    public boolean isBookedAt(long time) {
+        int candidates = countStartingAtOrBefore(time);
+        return candidates > 0 && maxEnds[candidates - 1] >= time;
+    }
+
+    /**
+     * First instant after time at which isBookedAt changes value, or
+     * Long.MAX_VALUE if it never does.
+     */
+    public long nextChange(long time) {
+        int candidates = countStartingAtOrBefore(time);
+        if (candidates > 0 && maxEnds[candidates - 1] >= time) {
+            // Booked: follow overlapping or back-to-back intervals to the end of the run
+            long end = maxEnds[candidates - 1];
+            while (true) {
+                long reach = maxEnds[countStartingAtOrBefore(end + 1) - 1];
+                if (reach <= end) {
+                    return end + 1;
+                }
+                end = reach;
+            }
+        }
+        return candidates < size ? starts[candidates] : Long.MAX_VALUE;
+    }
+
+    /**
+     * Earliest start s >= from such that [s, s + length] overlaps no
+     * indexed interval and s + length <= latest, or -1 if there is none.
+     * Sweeps the intervals in start order from the first one that can
+     * reach from, moving the candidate past each interval that blocks it.
+     */
+    public long earliestGap(long from, long length, long latest) {
+        long candidate = from;
+        for (int i = countEndingBefore(from); i < size; i++) {
+            if (starts[i] > candidate + length) {
+                break;
+            }
+            if (ends[i] >= candidate) {
+                candidate = ends[i] + 1;
+                if (candidate + length > latest) {
+                    return -1;
+                }
+            }
+        }
+        return candidate + length <= latest ? candidate : -1;
+    }
+
+    /**
+     * Midnight at the start of the day holding time.
+     */
+    public static long startOfDay(long time) {
+        ZoneId zone = ZoneId.systemDefault();
+        return toDay(time, zone).atStartOfDay(zone).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Last millisecond of the day holding time, just before the next midnight.
+     */
+    public static long endOfDay(long time) {
+        ZoneId zone = ZoneId.systemDefault();
+        return toDay(time, zone).plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli() - 1;
+    }
+
+    private static LocalDate toDay(long time, ZoneId zone) {
+        return Instant.ofEpochMilli(time).atZone(zone).toLocalDate();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Number of intervals whose start is <= time.
+     */
+    private int countStartingAtOrBefore(long time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] <= time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Length of the leading run of intervals that all end before time,
+     * found through the running maximum of end times.
+     */
+    private int countEndingBefore(long time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (maxEnds[mid] < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void recomputeMaxEnds(int from) {
+        long max = from > 0 ? maxEnds[from - 1] : Long.MIN_VALUE;
+        for (int i = from; i < size; i++) {
+            max = Math.max(max, ends[i]);
+            maxEnds[i] = max;
+        }
+    }
+}
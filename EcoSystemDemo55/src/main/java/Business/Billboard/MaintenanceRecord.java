@@ -1,5 +1,6 @@
 package Business.Billboard;
 
+import Business.DB4OUtil.DirtyTracker;
 import java.util.Date;
 
 /**
@@ -27,6 +28,7 @@ public class MaintenanceRecord {
 
     public void setDate(Date date) {
         this.date = date;
+        DirtyTracker.markDirty(this);
     }
 
     public String getDescription() {
@@ -35,6 +37,7 @@ public class MaintenanceRecord {
 
     public void setDescription(String description) {
         this.description = description;
+        DirtyTracker.markDirty(this);
     }
 
     public String getType() {
@@ -43,6 +46,7 @@ public class MaintenanceRecord {
 
     public void setType(String type) {
         this.type = type;
+        DirtyTracker.markDirty(this);
     }
 
     public String getStatus() {
@@ -51,6 +55,7 @@ public class MaintenanceRecord {
 
     public void setStatus(String status) {
         this.status = status;
+        DirtyTracker.markDirty(this);
     }
 
     public String getResolution() {
@@ -59,6 +64,7 @@ public class MaintenanceRecord {
 
     public void setResolution(String resolution) {
         this.resolution = resolution;
+        DirtyTracker.markDirty(this);
     }
 
     @Override
@@ -1,15 +1,20 @@
 package Business.Billboard;
 
+import Business.DB4OUtil.DirtyTracker;
 import Business.UserAccount.UserAccount;
+import Business.WorkQueue.CampaignBookingRequest;
 import java.util.Date;
 
 /**
- * Represents a user waiting for a billboard to become available.
+ * Represents a user waiting for a billboard to become available. Entries
+ * created from a booking request carry it, so they can be promoted into a
+ * booking when the board frees up.
  */
 public class WaitlistEntry {
     private UserAccount user;
     private Date requestDate;
     private String message;
+    private CampaignBookingRequest request; // null for entries added by hand
 
     public WaitlistEntry(UserAccount user, String message) {
         this.user = user;
@@ -17,12 +22,18 @@ public class WaitlistEntry {
         this.requestDate = new Date();
     }
 
+    public WaitlistEntry(CampaignBookingRequest request, String message) {
+        this(request.getSender(), message);
+        this.request = request;
+    }
+
     public UserAccount getUser() {
         return user;
     }
 
     public void setUser(UserAccount user) {
         this.user = user;
+        DirtyTracker.markDirty(this);
     }
 
     public Date getRequestDate() {
@@ -31,6 +42,7 @@ public class WaitlistEntry {
 
     public void setRequestDate(Date requestDate) {
         this.requestDate = requestDate;
+        DirtyTracker.markDirty(this);
     }
 
     public String getMessage() {
@@ -39,6 +51,27 @@ public class WaitlistEntry {
 
     public void setMessage(String message) {
         this.message = message;
+        DirtyTracker.markDirty(this);
+    }
+
+    public CampaignBookingRequest getRequest() {
+        return request;
+    }
+
+    /**
+     * Budget of the waiting request, or 0 for entries added by hand.
+     */
+    public double getBudget() {
+        return request == null ? 0 : request.getBudget();
+    }
+
+    /**
+     * Whether this entry can still be turned into a booking: it has a
+     * request with dates that nothing else has processed since.
+     */
+    public boolean isPromotable() {
+        return request != null && request.getStartDate() != null && request.getEndDate() != null
+                && request.getStatus().equals("Waitlisted");
     }
 
     @Override
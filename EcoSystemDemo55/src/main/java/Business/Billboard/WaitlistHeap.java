@@ -0,0 +1,72 @@
+package Business.Billboard;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Binary min-heap operations over a plain list, so a billboard's persisted
+ * waitlist can itself be kept in heap order: the best entry is always at
+ * index 0 and adding or removing it costs O(log n).
+ */
+final class WaitlistHeap {
+
+    private WaitlistHeap() {
+    }
+
+    static void heapify(List<WaitlistEntry> heap, Comparator<WaitlistEntry> order) {
+        for (int i = heap.size() / 2 - 1; i >= 0; i--) {
+            siftDown(heap, i, order);
+        }
+    }
+
+    static void push(List<WaitlistEntry> heap, WaitlistEntry entry, Comparator<WaitlistEntry> order) {
+        heap.add(entry);
+        siftUp(heap, heap.size() - 1, order);
+    }
+
+    static WaitlistEntry poll(List<WaitlistEntry> heap, Comparator<WaitlistEntry> order) {
+        if (heap.isEmpty()) {
+            return null;
+        }
+        WaitlistEntry best = heap.get(0);
+        WaitlistEntry last = heap.remove(heap.size() - 1);
+        if (!heap.isEmpty()) {
+            heap.set(0, last);
+            siftDown(heap, 0, order);
+        }
+        return best;
+    }
+
+    private static void siftUp(List<WaitlistEntry> heap, int i, Comparator<WaitlistEntry> order) {
+        WaitlistEntry entry = heap.get(i);
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            WaitlistEntry p = heap.get(parent);
+            if (order.compare(entry, p) >= 0) {
+                break;
+            }
+            heap.set(i, p);
+            i = parent;
+        }
+        heap.set(i, entry);
+    }
+
+    private static void siftDown(List<WaitlistEntry> heap, int i, Comparator<WaitlistEntry> order) {
+        int size = heap.size();
+        WaitlistEntry entry = heap.get(i);
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && order.compare(heap.get(right), heap.get(child)) < 0) {
+                child = right;
+            }
+            if (order.compare(entry, heap.get(child)) <= 0) {
+                break;
+            }
+            heap.set(i, heap.get(child));
+            i = child;
+        }
+        heap.set(i, entry);
+    }
+}
@@ -0,0 +1,40 @@
+package Business.Billboard;
+
+import java.util.Comparator;
+
+/**
+ * Order in which a billboard's waitlist is promoted. Ties fall back to the
+ * other key, so two policies never disagree only by chance.
+ */
+public enum WaitlistPolicy {
+    REQUEST_DATE("Request Date",
+            Comparator.comparing(WaitlistEntry::getRequestDate)
+                    .thenComparing(Comparator.comparingDouble(WaitlistEntry::getBudget).reversed())),
+    BUDGET("Budget",
+            Comparator.comparingDouble(WaitlistEntry::getBudget).reversed()
+                    .thenComparing(WaitlistEntry::getRequestDate));
+
+    private String value;
+    private Comparator<WaitlistEntry> order;
+
+    private WaitlistPolicy(String value, Comparator<WaitlistEntry> order) {
+        this.value = value;
+        this.order = order;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Orders entries best first.
+     */
+    public Comparator<WaitlistEntry> getOrder() {
+        return order;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -261,7 +261,7 @@ public class ConfigureASystem {
                 boardSelectionReq.addBoardId(1000);
                 boardSelectionReq.addBoardId(1005);
                 boardSelectionReq.setStatus("Pending");
-                campaignPlanningOrg.getWorkQueue().getWorkRequestList().add(boardSelectionReq);
+                campaignPlanningOrg.getWorkQueue().addWorkRequest(boardSelectionReq);
 
                 // Request 2: Cross-Enterprise (AdSpark → SkyView Billboards)
                 CampaignBookingRequest bookingReq = new CampaignBookingRequest();
@@ -275,7 +275,7 @@ public class ConfigureASystem {
                 bookingReq.setEndDate(getDateDaysFromNow(40));
                 bookingReq.setBudget(15000.00);
                 bookingReq.setStatus("Pending");
-                salesOrg.getWorkQueue().getWorkRequestList().add(bookingReq);
+                salesOrg.getWorkQueue().addWorkRequest(bookingReq);
 
                 // Request 3: Cross-Enterprise (SkyView → City Services)
                 PermitRequest permitReq = new PermitRequest();
@@ -286,7 +286,7 @@ public class ConfigureASystem {
                 permitReq.setRequestedBy("SkyView Billboards");
                 permitReq.setValidUntil(getDateDaysFromNow(60));
                 permitReq.setStatus("Pending");
-                permitsOrg.getWorkQueue().getWorkRequestList().add(permitReq);
+                permitsOrg.getWorkQueue().addWorkRequest(permitReq);
 
                 // Request 4: Cross-Enterprise (City → SkyView)
                 ComplianceInspectionRequest inspectionReq = new ComplianceInspectionRequest();
@@ -296,7 +296,7 @@ public class ConfigureASystem {
                 inspectionReq.setBoardId(1005);
                 inspectionReq.setInspectionType("Safety");
                 inspectionReq.setStatus("Pending");
-                complianceOrg.getWorkQueue().getWorkRequestList().add(inspectionReq);
+                complianceOrg.getWorkQueue().addWorkRequest(inspectionReq);
 
                 // Request 5: Cross-Organization (SkyView Operations → Sales)
                 MaintenanceRequest maintenanceReq = new MaintenanceRequest();
@@ -307,7 +307,7 @@ public class ConfigureASystem {
                 maintenanceReq.setIssueDescription("LED panel flickering");
                 maintenanceReq.setUrgencyLevel("High");
                 maintenanceReq.setStatus("Pending");
-                salesOrg.getWorkQueue().getWorkRequestList().add(maintenanceReq);
+                salesOrg.getWorkQueue().addWorkRequest(maintenanceReq);
 
                 // Request 6: Cross-Enterprise (SkyView → MassPower)
                 PowerIssueRequest powerReq = new PowerIssueRequest();
@@ -318,7 +318,7 @@ public class ConfigureASystem {
                 powerReq.setSeverity("Critical");
                 powerReq.setOutageType("Complete");
                 powerReq.setStatus("Pending");
-                powerGridOrg.getWorkQueue().getWorkRequestList().add(powerReq);
+                powerGridOrg.getWorkQueue().addWorkRequest(powerReq);
 
                 // Request 8: Incoming Maintenance Request (Sales -> Operations) linked to board
                 // logic
@@ -330,7 +330,7 @@ public class ConfigureASystem {
                 incomingMaintReq.setIssueDescription("Physical damage to frame");
                 incomingMaintReq.setUrgencyLevel("Medium");
                 incomingMaintReq.setStatus("Sent");
-                opsOrg.getWorkQueue().getWorkRequestList().add(incomingMaintReq);
+                opsOrg.getWorkQueue().addWorkRequest(incomingMaintReq);
 
                 // Request 7: Within Power Utility (PowerGrid → Field Engineers)
                 FieldEngineerAssignmentRequest fieldReq = new FieldEngineerAssignmentRequest();
@@ -339,8 +339,9 @@ public class ConfigureASystem {
                 fieldReq.setMessage("Assign engineer to fix power issue at billboard #1015");
                 fieldReq.setEngineerId(engineer.getEmployee().getId());
                 fieldReq.setTaskDescription("Restore power to billboard #1015 - Downtown Boston");
+                fieldReq.setBoardId(1015);
                 fieldReq.setStatus("Pending");
-                fieldEngOrg.getWorkQueue().getWorkRequestList().add(fieldReq);
+                fieldEngOrg.getWorkQueue().addWorkRequest(fieldReq);
 
                 return system;
         }
@@ -0,0 +1,25 @@
+package Business.DB4OUtil;
+
+/**
+ * Controls when DB4OUtil commits the shared container after storeSystem.
+ */
+public enum CommitPolicy {
+    ON_STORE("Commit on every store"),
+    EVERY_N_STORES("Commit after a fixed number of stores"),
+    ON_SHUTDOWN("Commit only when the container is closed");
+
+    private String value;
+
+    private CommitPolicy(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
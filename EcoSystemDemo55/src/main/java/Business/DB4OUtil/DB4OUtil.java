@@ -1,13 +1,19 @@
 package Business.DB4OUtil;
 
+import Business.Billboard.Billboard;
 import Business.ConfigureASystem;
 import Business.EcoSystem;
+import Business.Utils.IdAllocator;
+import Business.WorkQueue.WorkQueue;
 import com.db4o.Db4oEmbedded;
 import com.db4o.ObjectContainer;
 import com.db4o.ObjectSet;
 import com.db4o.config.EmbeddedConfiguration;
 import com.db4o.ta.TransparentPersistenceSupport;
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  *
@@ -16,9 +22,26 @@ import java.nio.file.Paths;
  */
 public class DB4OUtil {
 
+    private static final Logger LOGGER = Logger.getLogger(DB4OUtil.class.getName());
     private static final String FILENAME = Paths.get("Databank.db4o").toAbsolutePath().toString();// path to the data store
     private static DB4OUtil dB4OUtil;
-    
+    // Depth used when writing a single changed object: the object plus the
+    // collections it owns. New objects reachable from it are always stored whole.
+    private static final int DIRTY_STORE_DEPTH = 2;
+
+    // Shared container, opened on first use and kept until JVM shutdown so
+    // that saves update the loaded objects instead of copying them
+    private ObjectContainer container;
+    private boolean shutdownHookRegistered;
+    private boolean incrementalStore = true;
+    private boolean lazyActivation = true;
+    private boolean lazyContainer; // whether the open container uses the lazy profile
+    private CommitPolicy commitPolicy = CommitPolicy.ON_STORE;
+    private int commitInterval = 10;
+    private int uncommittedStores;
+    private final PersistenceMetrics metrics = new PersistenceMetrics();
+    private EcoSystem system; // last retrieved or stored, saved again at shutdown
+
     public synchronized static DB4OUtil getInstance(){
         if (dB4OUtil == null){
             dB4OUtil = new DB4OUtil();
@@ -39,11 +62,13 @@ public class DB4OUtil {
             config.common().add(new TransparentPersistenceSupport());
             //Controls the number of objects in memory
             config.common().activationDepth(Integer.MAX_VALUE);
-            //Controls the depth/level of updation of Object
-            config.common().updateDepth(Integer.MAX_VALUE);
-
-            //Register your top most Class here
-            config.common().objectClass(EcoSystem.class).cascadeOnUpdate(true); // Change to the object you want to save
+            if (lazyActivation) {
+                //Directories load eagerly; booking/maintenance history, waitlists and
+                //work queue contents are activated on first access through LazyActivation
+                config.common().objectClass(Billboard.class).maximumActivationDepth(1);
+                config.common().objectClass(WorkQueue.class).maximumActivationDepth(1);
+            }
+            //Update depth is passed explicitly on each store, see storeSystem
 
             ObjectContainer db = Db4oEmbedded.openFile(config, FILENAME);
             return db;
@@ -53,15 +78,100 @@ public class DB4OUtil {
         return null;
     }
 
-    public synchronized void storeSystem(EcoSystem system) {
-        ObjectContainer conn = createConnection();
-        conn.store(system);
-        conn.commit();
-        conn.close();
+    public boolean isIncrementalStore() {
+        return incrementalStore;
+    }
+
+    /**
+     * When enabled (the default), storeSystem writes only the objects marked
+     * in DirtyTracker once the system has been stored in this container.
+     * When disabled, every call rewrites the whole EcoSystem graph, except on
+     * a lazily activated container where unloaded collections would be
+     * written back empty.
+     */
+    public void setIncrementalStore(boolean incrementalStore) {
+        this.incrementalStore = incrementalStore;
+    }
+
+    public boolean isLazyActivation() {
+        return lazyActivation;
+    }
+
+    /**
+     * Selects the activation profile used the next time the container is
+     * opened. The lazy profile (the default) skips billboard histories,
+     * waitlists and work queue contents until they are first accessed.
+     */
+    public void setLazyActivation(boolean lazyActivation) {
+        this.lazyActivation = lazyActivation;
+    }
+
+    public synchronized CommitPolicy getCommitPolicy() {
+        return commitPolicy;
     }
-    
-    public EcoSystem retrieveSystem(){
-        ObjectContainer conn = createConnection();
+
+    public synchronized void setCommitPolicy(CommitPolicy commitPolicy) {
+        this.commitPolicy = commitPolicy;
+    }
+
+    public synchronized int getCommitInterval() {
+        return commitInterval;
+    }
+
+    /**
+     * Number of stores between commits when the policy is EVERY_N_STORES.
+     */
+    public synchronized void setCommitInterval(int commitInterval) {
+        if (commitInterval < 1) {
+            throw new IllegalArgumentException("Commit interval must be at least 1");
+        }
+        this.commitInterval = commitInterval;
+    }
+
+    public PersistenceMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Stores the system, holding StoreGate exclusively so request workers
+     * and the status sweeper cannot change the graph while it is written.
+     */
+    public void storeSystem(EcoSystem system) {
+        StoreGate.lockExclusive();
+        try {
+            store(system);
+        } finally {
+            StoreGate.unlockExclusive();
+        }
+    }
+
+    private synchronized void store(EcoSystem system) {
+        this.system = system;
+        ObjectContainer conn = getContainer();
+        long start = System.nanoTime();
+        int stored;
+        if ((incrementalStore || lazyContainer) && conn.ext().isStored(system)) {
+            List<Object> changes = DirtyTracker.drain();
+            for (Object changed : changes) {
+                conn.ext().store(changed, DIRTY_STORE_DEPTH);
+            }
+            stored = changes.size();
+        } else {
+            DirtyTracker.clear();
+            conn.ext().store(system, Integer.MAX_VALUE);
+            stored = 1;
+        }
+        metrics.recordStore(System.nanoTime() - start, stored);
+
+        uncommittedStores++;
+        if (commitPolicy == CommitPolicy.ON_STORE
+                || (commitPolicy == CommitPolicy.EVERY_N_STORES && uncommittedStores >= commitInterval)) {
+            commit();
+        }
+    }
+
+    public synchronized EcoSystem retrieveSystem(){
+        ObjectContainer conn = getContainer();
         ObjectSet<EcoSystem> systems = conn.query(EcoSystem.class); // Change to the object you want to save
         EcoSystem system;
         if (systems.size() == 0){
@@ -69,8 +179,70 @@ public class DB4OUtil {
         }
         else{
             system = systems.get(systems.size() - 1);
+            // Continue id sequences above the ids stored with this system
+            IdAllocator.attach(system.getIdHighWaterMark());
         }
-        conn.close();
+        this.system = system;
         return system;
     }
+
+    /**
+     * Commits pending stores on the shared container, whatever the policy.
+     */
+    public synchronized void commit() {
+        if (container == null || uncommittedStores == 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        container.commit();
+        metrics.recordCommit(System.nanoTime() - start);
+        uncommittedStores = 0;
+    }
+
+    /**
+     * Commits and closes the shared container. The next store or retrieve
+     * reopens it.
+     */
+    public synchronized void close() {
+        if (container == null) {
+            return;
+        }
+        commit();
+        LazyActivation.setContainer(null);
+        shutdown(container);
+        container = null;
+        LOGGER.log(Level.INFO, "Closed {0}: {1}", new Object[]{FILENAME, metrics});
+    }
+
+    // Shutdown hook: stores changes made since the last save, for example by
+    // requests still processing at logout, then commits and closes
+    private void saveAndClose() {
+        EcoSystem last;
+        synchronized (this) {
+            last = container != null ? system : null;
+        }
+        if (last != null && DirtyTracker.getDirtyCount() > 0) {
+            try {
+                storeSystem(last);
+            } catch (RuntimeException ex) {
+                LOGGER.log(Level.SEVERE, "Could not store changes at shutdown", ex);
+            }
+        }
+        close();
+    }
+
+    private ObjectContainer getContainer() {
+        if (container == null) {
+            long start = System.nanoTime();
+            container = createConnection();
+            metrics.recordOpen(System.nanoTime() - start);
+            lazyContainer = lazyActivation;
+            LazyActivation.setContainer(lazyContainer ? container : null);
+            if (!shutdownHookRegistered) {
+                Runtime.getRuntime().addShutdownHook(new Thread(this::saveAndClose, "db4o-shutdown"));
+                shutdownHookRegistered = true;
+            }
+        }
+        return container;
+    }
 }
@@ -0,0 +1,54 @@
+package Business.DB4OUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Records which business objects were modified since the last save, so
+ * DB4OUtil can write only the change set instead of the whole EcoSystem.
+ *
+ * Mutators call markDirty(this). Objects are tracked by identity, so
+ * marking the same object many times costs nothing extra at save time.
+ */
+public class DirtyTracker {
+
+    private static final Set<Object> dirty = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private DirtyTracker() {
+    }
+
+    public static void markDirty(Object object) {
+        if (object == null) {
+            return;
+        }
+        synchronized (dirty) {
+            dirty.add(object);
+        }
+    }
+
+    public static int getDirtyCount() {
+        synchronized (dirty) {
+            return dirty.size();
+        }
+    }
+
+    /**
+     * Returns the objects marked since the last call and clears the set.
+     */
+    public static List<Object> drain() {
+        synchronized (dirty) {
+            List<Object> changes = new ArrayList<>(dirty);
+            dirty.clear();
+            return changes;
+        }
+    }
+
+    public static void clear() {
+        synchronized (dirty) {
+            dirty.clear();
+        }
+    }
+}
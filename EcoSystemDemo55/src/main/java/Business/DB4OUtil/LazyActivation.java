@@ -0,0 +1,32 @@
+package Business.DB4OUtil;
+
+import com.db4o.ObjectContainer;
+
+/**
+ * Loads collections that the lazy activation profile leaves unactivated.
+ *
+ * Business objects call activate(...) on their lazily loaded collections
+ * before reading or modifying them. Outside a lazy container, and for
+ * objects that were never stored, the call does nothing.
+ */
+public class LazyActivation {
+
+    private static volatile ObjectContainer container;
+
+    private LazyActivation() {
+    }
+
+    static void setContainer(ObjectContainer conn) {
+        container = conn;
+    }
+
+    public static void activate(Object object, int depth) {
+        ObjectContainer conn = container;
+        if (conn == null || object == null) {
+            return;
+        }
+        if (conn.ext().isStored(object) && !conn.ext().isActive(object)) {
+            conn.activate(object, depth);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package Business.DB4OUtil;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timing counters for the shared db4o container: how long opening, storing
+ * and committing took, and how often each happened.
+ */
+public class PersistenceMetrics {
+
+    private long openCount;
+    private long openNanos;
+    private long storeCount;
+    private long storeNanos;
+    private long storedObjects;
+    private long commitCount;
+    private long commitNanos;
+    private long lastCommitNanos;
+
+    synchronized void recordOpen(long nanos) {
+        openCount++;
+        openNanos += nanos;
+    }
+
+    synchronized void recordStore(long nanos, int objects) {
+        storeCount++;
+        storeNanos += nanos;
+        storedObjects += objects;
+    }
+
+    synchronized void recordCommit(long nanos) {
+        commitCount++;
+        commitNanos += nanos;
+        lastCommitNanos = nanos;
+    }
+
+    public synchronized long getOpenCount() {
+        return openCount;
+    }
+
+    public synchronized double getOpenMillis() {
+        return toMillis(openNanos);
+    }
+
+    public synchronized long getStoreCount() {
+        return storeCount;
+    }
+
+    public synchronized double getAverageStoreMillis() {
+        return storeCount == 0 ? 0 : toMillis(storeNanos) / storeCount;
+    }
+
+    public synchronized long getStoredObjects() {
+        return storedObjects;
+    }
+
+    public synchronized long getCommitCount() {
+        return commitCount;
+    }
+
+    public synchronized double getAverageCommitMillis() {
+        return commitCount == 0 ? 0 : toMillis(commitNanos) / commitCount;
+    }
+
+    public synchronized double getLastCommitMillis() {
+        return toMillis(lastCommitNanos);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("opens=%d (%.1f ms), stores=%d (avg %.1f ms, %d objects), "
+                + "commits=%d (avg %.1f ms, last %.1f ms)",
+                openCount, getOpenMillis(), storeCount, getAverageStoreMillis(), storedObjects,
+                commitCount, getAverageCommitMillis(), getLastCommitMillis());
+    }
+}
@@ -0,0 +1,48 @@
+package Business.DB4OUtil;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Keeps background work out of the object graph while DB4OUtil stores it.
+ *
+ * Request workers and the billboard status sweeper run each task through
+ * run, which holds the gate shared. storeSystem holds it exclusively, so a
+ * store waits for running tasks to finish and holds new ones back until
+ * it is done. Tasks never store the system themselves, since a shared
+ * hold cannot be upgraded.
+ */
+public class StoreGate {
+
+    private static final ReentrantReadWriteLock gate = new ReentrantReadWriteLock();
+
+    private StoreGate() {
+    }
+
+    public static <T> T run(Supplier<T> task) {
+        gate.readLock().lock();
+        try {
+            return task.get();
+        } finally {
+            gate.readLock().unlock();
+        }
+    }
+
+    public static void run(Runnable task) {
+        gate.readLock().lock();
+        try {
+            task.run();
+        } finally {
+            gate.readLock().unlock();
+        }
+    }
+
+    // Held by DB4OUtil around a store, taken before the DB4OUtil monitor
+    static void lockExclusive() {
+        gate.writeLock().lock();
+    }
+
+    static void unlockExclusive() {
+        gate.writeLock().unlock();
+    }
+}
@@ -1,8 +1,23 @@
 package Business;
 
+import Business.DB4OUtil.DirtyTracker;
 import Business.Network.Network;
 import Business.Network.NetworkDirectory;
+import Business.Network.RoutingTable;
+import Business.Billboard.Billboard;
+import Business.Employee.Employee;
+import Business.Enterprise.Enterprise;
+import Business.Enterprise.SkyViewBillboardEnterprise;
+import Business.Organization.Organization;
+import Business.UserAccount.LoginIndex;
+import Business.UserAccount.UserAccount;
 import Business.UserAccount.UserAccountDirectory;
+import Business.Utils.IdAllocator;
+import Business.Utils.IdHighWaterMark;
+import Business.Utils.IdSequence;
+import Business.WorkQueue.RequestRegistry;
+import Business.WorkQueue.WorkQueue;
+import Business.WorkQueue.WorkRequest;
 import java.util.ArrayList;
 
 public class EcoSystem {
@@ -10,11 +25,20 @@ public class EcoSystem {
     private static EcoSystem business;
     private ArrayList<Network> networkList;
     private UserAccountDirectory userAccountDirectory;
+    private IdHighWaterMark idHighWaterMark;
+    // Built on first login; not persisted
+    private transient LoginIndex loginIndex;
+    // Built on first dispatch; not persisted
+    private transient RoutingTable routingTable;
+    // Whether stored requests have been added to the RequestRegistry
+    private transient boolean requestsRegistered;
 
     // Private Constructor
     private EcoSystem() {
         networkList = new ArrayList<>();
         userAccountDirectory = new UserAccountDirectory();
+        idHighWaterMark = new IdHighWaterMark();
+        IdAllocator.attach(idHighWaterMark);
     }
 
     // Singleton Access Method
@@ -32,10 +56,140 @@ public class EcoSystem {
     public Network createAndAddNetwork(String name) {
         Network network = new Network(name);
         networkList.add(network);
+        if (loginIndex != null) {
+            loginIndex.registerNetwork(network);
+        }
+        if (routingTable != null) {
+            routingTable.registerNetwork(network);
+        }
+        DirtyTracker.markDirty(this);
         return network;
     }
 
+    public boolean removeNetwork(Network network) {
+        boolean removed = networkList.remove(network);
+        if (removed) {
+            if (loginIndex != null) {
+                loginIndex.unregisterNetwork(network);
+            }
+            if (routingTable != null) {
+                routingTable.unregisterNetwork(network);
+            }
+            DirtyTracker.markDirty(this);
+        }
+        return removed;
+    }
+
     public UserAccountDirectory getUserAccountDirectory() {
         return userAccountDirectory;
     }
+
+    /**
+     * Routes from each enterprise and network to the organization of each
+     * type that receives its work requests.
+     */
+    public RoutingTable getRoutingTable() {
+        if (routingTable == null) {
+            routingTable = new RoutingTable(getLoginIndex());
+            for (Network network : networkList) {
+                routingTable.registerNetwork(network);
+            }
+        }
+        return routingTable;
+    }
+
+    /**
+     * Highest reserved id of each IdAllocator sequence. Systems stored before
+     * the mark existed get one computed from the ids already in use.
+     */
+    public IdHighWaterMark getIdHighWaterMark() {
+        if (idHighWaterMark == null) {
+            idHighWaterMark = new IdHighWaterMark();
+            raiseToUsedIds(userAccountDirectory);
+            for (Network network : networkList) {
+                for (Enterprise enterprise : network.getEnterpriseDirectory().getEnterpriseList()) {
+                    raiseToUsedIds(enterprise.getUserAccountDirectory());
+                    for (Organization organization : enterprise.getOrganizationDirectory().getOrganizationList()) {
+                        idHighWaterMark.raise(IdSequence.ORGANIZATION, organization.getOrganizationID() + 1);
+                        for (Employee employee : organization.getEmployeeDirectory().getEmployeeList()) {
+                            idHighWaterMark.raise(IdSequence.EMPLOYEE, employee.getId() + 1);
+                        }
+                        for (WorkRequest request : organization.getWorkQueue().getWorkRequestList()) {
+                            idHighWaterMark.raise(IdSequence.WORK_REQUEST, request.getRequestId() + 1);
+                        }
+                        raiseToUsedIds(organization.getUserAccountDirectory());
+                    }
+                    if (enterprise instanceof SkyViewBillboardEnterprise) {
+                        for (Billboard billboard : ((SkyViewBillboardEnterprise) enterprise)
+                                .getBillboardDirectory().getBillboards()) {
+                            idHighWaterMark.raise(IdSequence.BILLBOARD, billboard.getBoardId() + 1);
+                        }
+                    }
+                }
+            }
+            DirtyTracker.markDirty(this);
+        }
+        return idHighWaterMark;
+    }
+
+    private void raiseToUsedIds(UserAccountDirectory directory) {
+        for (UserAccount ua : directory.getUserAccountList()) {
+            if (ua.getEmployee() != null) {
+                idHighWaterMark.raise(IdSequence.EMPLOYEE, ua.getEmployee().getId() + 1);
+            }
+            for (WorkRequest request : ua.getWorkQueue().getWorkRequestList()) {
+                idHighWaterMark.raise(IdSequence.WORK_REQUEST, request.getRequestId() + 1);
+            }
+        }
+    }
+
+    /**
+     * Index of every account in the system, from the system directory down
+     * to each organization, in the order login used to search them.
+     */
+    public LoginIndex getLoginIndex() {
+        if (loginIndex == null) {
+            loginIndex = new LoginIndex();
+            loginIndex.registerDirectory(userAccountDirectory, null, null);
+            for (Network network : networkList) {
+                loginIndex.registerNetwork(network);
+            }
+        }
+        return loginIndex;
+    }
+
+    /**
+     * Registry of every work request by id. The first call registers the
+     * requests already in the system's queues; later ones are registered as
+     * they are queued.
+     */
+    public RequestRegistry getRequestRegistry() {
+        RequestRegistry registry = RequestRegistry.getInstance();
+        if (!requestsRegistered) {
+            registerAll(registry, userAccountDirectory);
+            for (Network network : networkList) {
+                for (Enterprise enterprise : network.getEnterpriseDirectory().getEnterpriseList()) {
+                    registerAll(registry, enterprise.getUserAccountDirectory());
+                    for (Organization organization : enterprise.getOrganizationDirectory().getOrganizationList()) {
+                        registerAll(registry, organization.getWorkQueue());
+                        registerAll(registry, organization.getUserAccountDirectory());
+                    }
+                }
+            }
+            requestsRegistered = true;
+        }
+        return registry;
+    }
+
+    private static void registerAll(RequestRegistry registry, UserAccountDirectory directory) {
+        for (UserAccount ua : directory.getUserAccountList()) {
+            registerAll(registry, ua.getWorkQueue());
+        }
+    }
+
+    private static void registerAll(RequestRegistry registry, WorkQueue queue) {
+        for (WorkRequest request : queue.getWorkRequestList()) {
+            registry.register(request);
+        }
+    }
 }
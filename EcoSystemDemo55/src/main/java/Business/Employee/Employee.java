@@ -1,14 +1,16 @@
 package Business.Employee;
 
+import Business.Utils.IdAllocator;
+import Business.Utils.IdSequence;
+
 public class Employee {
 
     private int id;
     private String name;
-    private static int count = 1;
 
     public Employee(String name) {
         this.name = name;
-        id = count++;
+        id = IdAllocator.nextId(IdSequence.EMPLOYEE);
     }
 
     public String getName() { return name; }
@@ -1,5 +1,6 @@
 package Business.Employee;
 
+import Business.DB4OUtil.DirtyTracker;
 import java.util.ArrayList;
 
 public class EmployeeDirectory {
@@ -13,6 +14,7 @@ public class EmployeeDirectory {
     public Employee createEmployee(String name) {
         Employee e = new Employee(name);
         employeeList.add(e);
+        DirtyTracker.markDirty(this);
         return e;
     }
 
@@ -1,5 +1,6 @@
 package Business.Enterprise;
 
+import Business.DB4OUtil.DirtyTracker;
 import Business.Organization.OrganizationDirectory;
 import Business.UserAccount.UserAccountDirectory;
 
@@ -23,6 +24,7 @@ public abstract class Enterprise {
 
     public void setName(String name) {
         this.name = name;
+        DirtyTracker.markDirty(this);
     }
 
     public EnterpriseType getEnterpriseType() {
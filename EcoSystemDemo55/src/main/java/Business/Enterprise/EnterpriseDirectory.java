@@ -1,10 +1,17 @@
 package Business.Enterprise;
 
+import Business.DB4OUtil.DirtyTracker;
+import Business.Network.Network;
+import Business.Network.RoutingTable;
+import Business.UserAccount.LoginIndex;
 import java.util.ArrayList;
 
 public class EnterpriseDirectory {
 
     private ArrayList<Enterprise> enterpriseList;
+    private transient LoginIndex loginIndex;
+    private transient RoutingTable routingTable;
+    private transient Network ownerNetwork;
 
     public EnterpriseDirectory() {
         enterpriseList = new ArrayList<>();
@@ -31,6 +38,36 @@ public class EnterpriseDirectory {
                 break;
         }
         enterpriseList.add(enterprise);
+        if (loginIndex != null) {
+            loginIndex.registerEnterprise(enterprise);
+        }
+        if (routingTable != null) {
+            routingTable.registerEnterprise(enterprise, ownerNetwork);
+        }
+        DirtyTracker.markDirty(this);
         return enterprise;
     }
+
+    public boolean removeEnterprise(Enterprise enterprise) {
+        boolean removed = enterpriseList.remove(enterprise);
+        if (removed) {
+            if (loginIndex != null) {
+                loginIndex.unregisterEnterprise(enterprise);
+            }
+            if (routingTable != null) {
+                routingTable.unregisterEnterprise(enterprise);
+            }
+            DirtyTracker.markDirty(this);
+        }
+        return removed;
+    }
+
+    public void setLoginIndex(LoginIndex loginIndex) {
+        this.loginIndex = loginIndex;
+    }
+
+    public void setRoutingTable(RoutingTable routingTable, Network ownerNetwork) {
+        this.routingTable = routingTable;
+        this.ownerNetwork = ownerNetwork;
+    }
 }
@@ -4,6 +4,8 @@
  */
 package Business.Enterprise;
 
+import Business.DB4OUtil.DirtyTracker;
+
 /**
  *
  * @author prekshapraveen
@@ -22,5 +24,6 @@ public class SkyViewBillboardEnterprise extends Enterprise {
 
     public void setBillboardDirectory(Business.Billboard.BillboardDirectory billboardDirectory) {
         this.billboardDirectory = billboardDirectory;
+        DirtyTracker.markDirty(this);
     }
 }
@@ -0,0 +1,102 @@
+package Business.Events;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * In-process bus for ChangeEvents, so open views can update the rows that
+ * changed instead of re-reading everything.
+ *
+ * Events are published on the thread that made the change, which may be a
+ * request worker holding the changed object's lock. Each listener is handed
+ * its events through the executor it subscribed with; listeners that touch
+ * Swing subscribe with SwingUtilities::invokeLater, and listeners run
+ * directly must return quickly without taking other locks.
+ */
+public class ChangeBus {
+
+    private static final Logger LOGGER = Logger.getLogger(ChangeBus.class.getName());
+    private static final ChangeBus bus = new ChangeBus();
+
+    private final Map<Class<?>, CopyOnWriteArrayList<Subscription>> subscriptions;
+
+    public static ChangeBus getInstance() {
+        return bus;
+    }
+
+    private ChangeBus() {
+        subscriptions = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Delivers events of the given type on the publishing thread.
+     */
+    public <E extends ChangeEvent> Subscription subscribe(Class<E> type, Consumer<? super E> listener) {
+        return subscribe(type, listener, Runnable::run);
+    }
+
+    /**
+     * Delivers events of the given type through the executor. Events of one
+     * type reach a listener in the order they were published as long as
+     * the executor runs tasks in order.
+     */
+    public <E extends ChangeEvent> Subscription subscribe(Class<E> type, Consumer<? super E> listener,
+            Executor executor) {
+        Subscription subscription = new Subscription(type, event -> listener.accept(type.cast(event)), executor);
+        subscriptions.computeIfAbsent(type, k -> new CopyOnWriteArrayList<>()).add(subscription);
+        return subscription;
+    }
+
+    public void publish(ChangeEvent event) {
+        CopyOnWriteArrayList<Subscription> listeners = subscriptions.get(event.getClass());
+        if (listeners == null) {
+            return;
+        }
+        for (Subscription subscription : listeners) {
+            subscription.deliver(event);
+        }
+    }
+
+    /**
+     * A listener's registration; cancel it when the view closes.
+     */
+    public final class Subscription {
+        private final Class<?> type;
+        private final Consumer<ChangeEvent> listener;
+        private final Executor executor;
+        private volatile boolean cancelled;
+
+        private Subscription(Class<?> type, Consumer<ChangeEvent> listener, Executor executor) {
+            this.type = type;
+            this.listener = listener;
+            this.executor = executor;
+        }
+
+        public void cancel() {
+            cancelled = true;
+            CopyOnWriteArrayList<Subscription> listeners = subscriptions.get(type);
+            if (listeners != null) {
+                listeners.remove(this);
+            }
+        }
+
+        private void deliver(ChangeEvent event) {
+            executor.execute(() -> {
+                // Events already queued when the subscription was cancelled are dropped
+                if (cancelled) {
+                    return;
+                }
+                try {
+                    listener.accept(event);
+                } catch (RuntimeException ex) {
+                    LOGGER.log(Level.WARNING, "Change listener failed on " + event.getClass().getSimpleName(), ex);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package Business.Events;
+
+import Business.Billboard.Billboard;
+import Business.Billboard.BillboardStatus;
+import Business.WorkQueue.WorkQueue;
+import Business.WorkQueue.WorkRequest;
+
+/**
+ * A change to a billboard, work request or work queue, published on the
+ * ChangeBus by the object's own mutators.
+ */
+public abstract class ChangeEvent {
+
+    /**
+     * A billboard's status changed, whether set directly or derived from
+     * its bookings.
+     */
+    public static final class BoardStatusChanged extends ChangeEvent {
+        private final Billboard billboard;
+        private final BillboardStatus oldStatus;
+        private final BillboardStatus newStatus;
+
+        public BoardStatusChanged(Billboard billboard, BillboardStatus oldStatus, BillboardStatus newStatus) {
+            this.billboard = billboard;
+            this.oldStatus = oldStatus;
+            this.newStatus = newStatus;
+        }
+
+        public Billboard getBillboard() {
+            return billboard;
+        }
+
+        public BillboardStatus getOldStatus() {
+            return oldStatus;
+        }
+
+        public BillboardStatus getNewStatus() {
+            return newStatus;
+        }
+    }
+
+    /**
+     * A booking was recorded on a billboard.
+     */
+    public static final class BookingAdded extends ChangeEvent {
+        private final Billboard billboard;
+        private final Billboard.BookingRecord booking;
+
+        public BookingAdded(Billboard billboard, Billboard.BookingRecord booking) {
+            this.billboard = billboard;
+            this.booking = booking;
+        }
+
+        public Billboard getBillboard() {
+            return billboard;
+        }
+
+        public Billboard.BookingRecord getBooking() {
+            return booking;
+        }
+    }
+
+    /**
+     * A work request moved to a new status.
+     */
+    public static final class RequestStatusChanged extends ChangeEvent {
+        private final WorkRequest request;
+        private final String oldStatus;
+        private final String newStatus;
+
+        public RequestStatusChanged(WorkRequest request, String oldStatus, String newStatus) {
+            this.request = request;
+            this.oldStatus = oldStatus;
+            this.newStatus = newStatus;
+        }
+
+        public WorkRequest getRequest() {
+            return request;
+        }
+
+        public String getOldStatus() {
+            return oldStatus;
+        }
+
+        public String getNewStatus() {
+            return newStatus;
+        }
+    }
+
+    /**
+     * A work request was added to a queue.
+     */
+    public static final class RequestEnqueued extends ChangeEvent {
+        private final WorkQueue queue;
+        private final WorkRequest request;
+
+        public RequestEnqueued(WorkQueue queue, WorkRequest request) {
+            this.queue = queue;
+            this.request = request;
+        }
+
+        public WorkQueue getQueue() {
+            return queue;
+        }
+
+        public WorkRequest getRequest() {
+            return request;
+        }
+    }
+}
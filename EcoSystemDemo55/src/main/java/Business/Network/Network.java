@@ -1,5 +1,6 @@
 package Business.Network;
 
+import Business.DB4OUtil.DirtyTracker;
 import Business.Enterprise.EnterpriseDirectory;
 
 public class Network {
@@ -18,6 +19,7 @@ public class Network {
 
     public void setName(String name) {
         this.name = name;
+        DirtyTracker.markDirty(this);
     }
 
     public EnterpriseDirectory getEnterpriseDirectory() {
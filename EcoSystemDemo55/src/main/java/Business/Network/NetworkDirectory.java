@@ -1,5 +1,6 @@
 package Business.Network;
 
+import Business.DB4OUtil.DirtyTracker;
 import java.util.ArrayList;
 
 public class NetworkDirectory {
@@ -17,6 +18,7 @@ public class NetworkDirectory {
     public Network createAndAddNetwork(String name) {
         Network network = new Network(name);
         networkList.add(network);
+        DirtyTracker.markDirty(this);
         return network;
     }
 }
@@ -0,0 +1,258 @@
+package Business.Network;
+
+import Business.Enterprise.Enterprise;
+import Business.Enterprise.EnterpriseType;
+import Business.Organization.Organization;
+import Business.UserAccount.LoginIndex;
+import Business.WorkQueue.BoardSelectionRequest;
+import Business.WorkQueue.CampaignBookingRequest;
+import Business.WorkQueue.ComplianceInspectionRequest;
+import Business.WorkQueue.FieldEngineerAssignmentRequest;
+import Business.WorkQueue.MaintenanceRequest;
+import Business.WorkQueue.PermitRequest;
+import Business.WorkQueue.PowerIssueRequest;
+import Business.WorkQueue.WorkRequest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the organization that should receive a work request without
+ * walking every network, enterprise and organization directory.
+ *
+ * Routes are kept per enterprise, per network and system-wide, each holding
+ * the first organization of every Organization.Type in directory order. A
+ * request goes to the sender's own enterprise if it has an organization of
+ * the target type, otherwise to the sender's network, otherwise to any
+ * network. Directories registered here report enterprises and
+ * organizations they create or remove.
+ *
+ * The same registrations keep the system topology: the network of each
+ * enterprise and the enterprises of each EnterpriseType per network, so
+ * finding a partner enterprise, such as the billboard operator next to an
+ * agency, does not search the networks either.
+ */
+public class RoutingTable {
+
+    // Default destination of each request class
+    private static final Map<Class<? extends WorkRequest>, Organization.Type> DESTINATIONS = new HashMap<>();
+
+    static {
+        DESTINATIONS.put(BoardSelectionRequest.class, Organization.Type.BILLBOARD_SALES);
+        DESTINATIONS.put(CampaignBookingRequest.class, Organization.Type.BILLBOARD_SALES);
+        DESTINATIONS.put(MaintenanceRequest.class, Organization.Type.BILLBOARD_OPERATIONS);
+        DESTINATIONS.put(PermitRequest.class, Organization.Type.CITY_PERMITS);
+        DESTINATIONS.put(ComplianceInspectionRequest.class, Organization.Type.COMPLIANCE_INSPECTION);
+        DESTINATIONS.put(PowerIssueRequest.class, Organization.Type.POWERGRID_MAINTENANCE);
+        DESTINATIONS.put(FieldEngineerAssignmentRequest.class, Organization.Type.FIELD_ENGINEERS);
+    }
+
+    private final LoginIndex loginIndex;
+    private final Map<Network, Map<Organization.Type, Organization>> networkRoutes;
+    private final Map<Enterprise, Map<Organization.Type, Organization>> enterpriseRoutes;
+    private final Map<Enterprise, Network> networkByEnterprise;
+    private final Map<Network, Map<EnterpriseType, List<Enterprise>>> enterprisesByType;
+    private Map<Organization.Type, Organization> systemRoutes;
+
+    /**
+     * @param loginIndex used to find the enterprise of a request's sender
+     */
+    public RoutingTable(LoginIndex loginIndex) {
+        this.loginIndex = loginIndex;
+        networkRoutes = new LinkedHashMap<>();
+        enterpriseRoutes = new IdentityHashMap<>();
+        networkByEnterprise = new IdentityHashMap<>();
+        enterprisesByType = new LinkedHashMap<>();
+        systemRoutes = new EnumMap<>(Organization.Type.class);
+    }
+
+    /**
+     * Adds the request to the queue of the organization its class is
+     * normally sent to, as seen from the sender. Returns that organization,
+     * or null if there is none.
+     */
+    public Organization dispatch(WorkRequest request) {
+        Organization.Type type = DESTINATIONS.get(request.getClass());
+        if (type == null) {
+            throw new IllegalArgumentException("No destination for " + request.getClass().getSimpleName());
+        }
+        return dispatch(request, type);
+    }
+
+    /**
+     * Adds the request to the queue of the organization of the given type
+     * closest to the sender. Returns that organization, or null if there is
+     * none.
+     */
+    public Organization dispatch(WorkRequest request, Organization.Type type) {
+        Organization organization = route(senderEnterprise(request), type);
+        if (organization != null) {
+            organization.getWorkQueue().addWorkRequest(request);
+        }
+        return organization;
+    }
+
+    /**
+     * Returns the organization of the given type in this enterprise, else
+     * in its network, else in any network.
+     */
+    public synchronized Organization route(Enterprise from, Organization.Type type) {
+        if (from != null) {
+            Map<Organization.Type, Organization> routes = enterpriseRoutes.get(from);
+            if (routes != null && routes.containsKey(type)) {
+                return routes.get(type);
+            }
+            Network network = networkByEnterprise.get(from);
+            if (network != null) {
+                Organization organization = route(network, type);
+                if (organization != null) {
+                    return organization;
+                }
+            }
+        }
+        return systemRoutes.get(type);
+    }
+
+    public synchronized Organization route(Network network, Organization.Type type) {
+        Map<Organization.Type, Organization> routes = networkRoutes.get(network);
+        return routes == null ? null : routes.get(type);
+    }
+
+    public synchronized Network getNetwork(Enterprise enterprise) {
+        return networkByEnterprise.get(enterprise);
+    }
+
+    /**
+     * Enterprises of the given type in the network, in directory order.
+     */
+    public synchronized List<Enterprise> getEnterprises(Network network, EnterpriseType type) {
+        Map<EnterpriseType, List<Enterprise>> byType = enterprisesByType.get(network);
+        List<Enterprise> enterprises = byType == null ? null : byType.get(type);
+        return enterprises == null ? Collections.emptyList() : new ArrayList<>(enterprises);
+    }
+
+    /**
+     * Enterprises of the given type in every network.
+     */
+    public synchronized List<Enterprise> getEnterprises(EnterpriseType type) {
+        List<Enterprise> result = new ArrayList<>();
+        for (Map<EnterpriseType, List<Enterprise>> byType : enterprisesByType.values()) {
+            result.addAll(byType.getOrDefault(type, Collections.emptyList()));
+        }
+        return result;
+    }
+
+    /**
+     * First enterprise of the given type in the same network as this one,
+     * or null if there is none.
+     */
+    public synchronized Enterprise getPartner(Enterprise enterprise, EnterpriseType type) {
+        Network network = networkByEnterprise.get(enterprise);
+        Map<EnterpriseType, List<Enterprise>> byType = network == null ? null : enterprisesByType.get(network);
+        List<Enterprise> enterprises = byType == null ? null : byType.get(type);
+        return enterprises == null || enterprises.isEmpty() ? null : enterprises.get(0);
+    }
+
+    public synchronized void registerNetwork(Network network) {
+        network.getEnterpriseDirectory().setRoutingTable(this, network);
+        networkRoutes.put(network, new EnumMap<>(Organization.Type.class));
+        enterprisesByType.put(network, new EnumMap<>(EnterpriseType.class));
+        for (Enterprise enterprise : network.getEnterpriseDirectory().getEnterpriseList()) {
+            registerEnterprise(enterprise, network);
+        }
+    }
+
+    public synchronized void unregisterNetwork(Network network) {
+        network.getEnterpriseDirectory().setRoutingTable(null, null);
+        for (Enterprise enterprise : network.getEnterpriseDirectory().getEnterpriseList()) {
+            forget(enterprise);
+        }
+        networkRoutes.remove(network);
+        enterprisesByType.remove(network);
+        rebuildSystemRoutes();
+    }
+
+    public synchronized void registerEnterprise(Enterprise enterprise, Network network) {
+        enterprise.getOrganizationDirectory().setRoutingTable(this, enterprise);
+        networkByEnterprise.put(enterprise, network);
+        enterpriseRoutes.put(enterprise, new EnumMap<>(Organization.Type.class));
+        Map<EnterpriseType, List<Enterprise>> byType = enterprisesByType.get(network);
+        if (byType != null && enterprise.getEnterpriseType() != null) {
+            byType.computeIfAbsent(enterprise.getEnterpriseType(), k -> new ArrayList<>()).add(enterprise);
+        }
+        for (Organization organization : enterprise.getOrganizationDirectory().getOrganizationList()) {
+            organizationAdded(organization, enterprise);
+        }
+    }
+
+    public synchronized void unregisterEnterprise(Enterprise enterprise) {
+        Network network = networkByEnterprise.get(enterprise);
+        forget(enterprise);
+        if (network != null) {
+            // Later enterprises may hold the next organization of each type
+            Map<Organization.Type, Organization> routes = new EnumMap<>(Organization.Type.class);
+            for (Enterprise other : network.getEnterpriseDirectory().getEnterpriseList()) {
+                Map<Organization.Type, Organization> otherRoutes = enterpriseRoutes.get(other);
+                if (otherRoutes != null) {
+                    for (Map.Entry<Organization.Type, Organization> route : otherRoutes.entrySet()) {
+                        routes.putIfAbsent(route.getKey(), route.getValue());
+                    }
+                }
+            }
+            networkRoutes.put(network, routes);
+        }
+        rebuildSystemRoutes();
+    }
+
+    /**
+     * Records a new organization. Existing routes are kept, so the first
+     * organization of each type stays the destination.
+     */
+    public synchronized void organizationAdded(Organization organization, Enterprise enterprise) {
+        Map<Organization.Type, Organization> routes = enterpriseRoutes.get(enterprise);
+        if (routes == null) {
+            return;
+        }
+        routes.putIfAbsent(organization.getType(), organization);
+        Network network = networkByEnterprise.get(enterprise);
+        if (network != null && networkRoutes.containsKey(network)) {
+            networkRoutes.get(network).putIfAbsent(organization.getType(), organization);
+        }
+        systemRoutes.putIfAbsent(organization.getType(), organization);
+    }
+
+    private Enterprise senderEnterprise(WorkRequest request) {
+        if (request.getSender() == null) {
+            return null;
+        }
+        LoginIndex.Entry entry = loginIndex.getEntry(request.getSender());
+        return entry == null ? null : entry.getEnterprise();
+    }
+
+    private void forget(Enterprise enterprise) {
+        enterprise.getOrganizationDirectory().setRoutingTable(null, null);
+        enterpriseRoutes.remove(enterprise);
+        Network network = networkByEnterprise.remove(enterprise);
+        Map<EnterpriseType, List<Enterprise>> byType = network == null ? null : enterprisesByType.get(network);
+        if (byType != null && enterprise.getEnterpriseType() != null) {
+            List<Enterprise> enterprises = byType.get(enterprise.getEnterpriseType());
+            if (enterprises != null) {
+                enterprises.remove(enterprise);
+            }
+        }
+    }
+
+    private void rebuildSystemRoutes() {
+        systemRoutes = new EnumMap<>(Organization.Type.class);
+        for (Map<Organization.Type, Organization> routes : networkRoutes.values()) {
+            for (Map.Entry<Organization.Type, Organization> route : routes.entrySet()) {
+                systemRoutes.putIfAbsent(route.getKey(), route.getValue());
+            }
+        }
+    }
+}
@@ -22,4 +22,9 @@ public class AgencyCampaignPlanningOrganization extends Organization{
         roles.add(new CampaignPlannerRole());
         return roles;
     }
+
+    @Override
+    public Type getType() {
+        return Type.AGENCY_CAMPAIGN_PLANNING;
+    }
 }
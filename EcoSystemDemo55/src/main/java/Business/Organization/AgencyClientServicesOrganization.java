@@ -25,4 +25,9 @@ public class AgencyClientServicesOrganization extends Organization{
         roles.add(new BrandMarketingManagerRole()); // brand-side login, if needed
         return roles;
     }
+
+    @Override
+    public Type getType() {
+        return Type.AGENCY_CLIENT_SERVICES;
+    }
 }
@@ -24,4 +24,9 @@ public class BillboardOperationsOrganization extends Organization {
         roles.add(new BillboardOperationsManagerRole());
         return roles;
     }
+
+    @Override
+    public Type getType() {
+        return Type.BILLBOARD_OPERATIONS;
+    }
 }
@@ -19,4 +19,8 @@ public ArrayList<Role> getSupportedRole() {
     return roles;
 }
 
+    @Override
+    public Type getType() {
+        return Type.BILLBOARD_SALES;
+    }
 }
@@ -23,4 +23,8 @@ public class CityPermitsOrganization extends Organization{
         return roles;
     }
 
+    @Override
+    public Type getType() {
+        return Type.CITY_PERMITS;
+    }
 }
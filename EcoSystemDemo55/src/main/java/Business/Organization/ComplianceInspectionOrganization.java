@@ -25,4 +25,9 @@ public class ComplianceInspectionOrganization extends Organization {
         roles.add(new SafetyCheckOfficerRole());
         return roles;
     }
+
+    @Override
+    public Type getType() {
+        return Type.COMPLIANCE_INSPECTION;
+    }
 }
@@ -23,4 +23,9 @@ public class FieldEngineersOrganization extends Organization {
         roles.add(new FieldMaintenanceEngineerRole());
         return roles;
     }
+
+    @Override
+    public Type getType() {
+        return Type.FIELD_ENGINEERS;
+    }
 }
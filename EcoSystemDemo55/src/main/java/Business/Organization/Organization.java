@@ -2,6 +2,8 @@ package Business.Organization;
 
 import Business.Employee.EmployeeDirectory;
 import Business.UserAccount.UserAccountDirectory;
+import Business.Utils.IdAllocator;
+import Business.Utils.IdSequence;
 import Business.WorkQueue.WorkQueue;
 import Business.Role.Role;
 import java.util.ArrayList;
@@ -13,7 +15,6 @@ public abstract class Organization {
     private EmployeeDirectory employeeDirectory;
     private UserAccountDirectory userAccountDirectory;
     private int organizationID;
-    private static int counter = 1;
 
     public enum Type {
         BILLBOARD_SALES("Billboard Sales Organization"),
@@ -46,12 +47,13 @@ public abstract class Organization {
         workQueue = new WorkQueue();
         employeeDirectory = new EmployeeDirectory();
         userAccountDirectory = new UserAccountDirectory();
-        organizationID = counter;
-        ++counter;
+        organizationID = IdAllocator.nextId(IdSequence.ORGANIZATION);
     }
 
     public abstract ArrayList<Role> getSupportedRole();
 
+    public abstract Type getType();
+
     // Getters and setters
     public String getName() {
         return name;
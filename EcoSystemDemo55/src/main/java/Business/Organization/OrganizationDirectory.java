@@ -1,10 +1,18 @@
 package Business.Organization;
 
+import Business.DB4OUtil.DirtyTracker;
+import Business.Enterprise.Enterprise;
+import Business.Network.RoutingTable;
+import Business.UserAccount.LoginIndex;
 import java.util.ArrayList;
 
 public class OrganizationDirectory {
 
     private ArrayList<Organization> organizationList;
+    private transient LoginIndex loginIndex;
+    private transient Enterprise ownerEnterprise;
+    private transient RoutingTable routingTable;
+    private transient Enterprise routedEnterprise;
 
     public OrganizationDirectory() {
         organizationList = new ArrayList<>();
@@ -46,8 +54,25 @@ public class OrganizationDirectory {
 
         if (org != null) {
             organizationList.add(org);
+            if (loginIndex != null) {
+                loginIndex.registerDirectory(org.getUserAccountDirectory(), ownerEnterprise, org);
+            }
+            if (routingTable != null) {
+                routingTable.organizationAdded(org, routedEnterprise);
+            }
+            DirtyTracker.markDirty(this);
         }
 
         return org;
     }
+
+    public void setLoginIndex(LoginIndex loginIndex, Enterprise ownerEnterprise) {
+        this.loginIndex = loginIndex;
+        this.ownerEnterprise = ownerEnterprise;
+    }
+
+    public void setRoutingTable(RoutingTable routingTable, Enterprise ownerEnterprise) {
+        this.routingTable = routingTable;
+        this.routedEnterprise = ownerEnterprise;
+    }
 }
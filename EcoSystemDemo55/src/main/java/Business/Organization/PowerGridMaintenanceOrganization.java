@@ -23,4 +23,9 @@ public class PowerGridMaintenanceOrganization extends Organization {
         roles.add(new PowerGridCoordinatorRole());
         return roles;
     }
+
+    @Override
+    public Type getType() {
+        return Type.POWERGRID_MAINTENANCE;
+    }
 }
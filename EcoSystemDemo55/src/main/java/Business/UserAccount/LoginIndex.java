@@ -0,0 +1,172 @@
+package Business.UserAccount;
+
+import Business.Enterprise.Enterprise;
+import Business.Network.Network;
+import Business.Organization.Organization;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * System-wide index from username to the account and the enterprise and
+ * organization that own it, so login is a single hash lookup instead of a
+ * walk over every network, enterprise and organization directory.
+ *
+ * Directories registered here report account creation and removal back to
+ * the index, and enterprise/organization directories register the
+ * directories they create.
+ *
+ * Lookups and updates synchronize on the index. They never call out while
+ * holding its monitor, so directories may report changes under their own.
+ */
+public class LoginIndex {
+
+    private Map<String, List<Entry>> entriesByUsername;
+
+    public LoginIndex() {
+        entriesByUsername = new HashMap<>();
+    }
+
+    /**
+     * Returns the login entry for the active account with these credentials,
+     * or null if there is none.
+     */
+    public synchronized Entry authenticate(String username, String password) {
+        if (username == null || password == null) {
+            return null;
+        }
+        List<Entry> entries = entriesByUsername.get(username);
+        if (entries == null) {
+            return null;
+        }
+        for (Entry entry : entries) {
+            UserAccount ua = entry.getUserAccount();
+            if (ua.getPassword().equals(password) && ua.isActive()) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    public synchronized Entry getEntry(String username) {
+        List<Entry> entries = entriesByUsername.get(username);
+        return entries == null ? null : entries.get(0);
+    }
+
+    /**
+     * Returns the login entry of this exact account, or null if the account
+     * is not in a registered directory.
+     */
+    public synchronized Entry getEntry(UserAccount userAccount) {
+        List<Entry> entries = entriesByUsername.get(userAccount.getUsername());
+        if (entries != null) {
+            for (Entry entry : entries) {
+                if (entry.getUserAccount() == userAccount) {
+                    return entry;
+                }
+            }
+        }
+        return null;
+    }
+
+    public void registerDirectory(UserAccountDirectory directory, Enterprise enterprise,
+            Organization organization) {
+        directory.attach(this, enterprise, organization);
+        for (UserAccount ua : directory.getUserAccountList()) {
+            accountAdded(ua, enterprise, organization);
+        }
+    }
+
+    public void unregisterDirectory(UserAccountDirectory directory) {
+        directory.attach(null, null, null);
+        for (UserAccount ua : directory.getUserAccountList()) {
+            accountRemoved(ua);
+        }
+    }
+
+    public void registerNetwork(Network network) {
+        network.getEnterpriseDirectory().setLoginIndex(this);
+        for (Enterprise enterprise : network.getEnterpriseDirectory().getEnterpriseList()) {
+            registerEnterprise(enterprise);
+        }
+    }
+
+    public void unregisterNetwork(Network network) {
+        network.getEnterpriseDirectory().setLoginIndex(null);
+        for (Enterprise enterprise : network.getEnterpriseDirectory().getEnterpriseList()) {
+            unregisterEnterprise(enterprise);
+        }
+    }
+
+    public void registerEnterprise(Enterprise enterprise) {
+        registerDirectory(enterprise.getUserAccountDirectory(), enterprise, null);
+        enterprise.getOrganizationDirectory().setLoginIndex(this, enterprise);
+        for (Organization organization : enterprise.getOrganizationDirectory().getOrganizationList()) {
+            registerDirectory(organization.getUserAccountDirectory(), enterprise, organization);
+        }
+    }
+
+    public void unregisterEnterprise(Enterprise enterprise) {
+        unregisterDirectory(enterprise.getUserAccountDirectory());
+        enterprise.getOrganizationDirectory().setLoginIndex(null, null);
+        for (Organization organization : enterprise.getOrganizationDirectory().getOrganizationList()) {
+            unregisterDirectory(organization.getUserAccountDirectory());
+        }
+    }
+
+    synchronized void accountAdded(UserAccount ua, Enterprise enterprise, Organization organization) {
+        entriesByUsername.computeIfAbsent(ua.getUsername(), k -> new ArrayList<>(1))
+                .add(new Entry(ua, enterprise, organization));
+    }
+
+    synchronized void accountRemoved(UserAccount ua) {
+        List<Entry> entries = entriesByUsername.get(ua.getUsername());
+        if (entries != null) {
+            entries.removeIf(entry -> entry.getUserAccount() == ua);
+            if (entries.isEmpty()) {
+                entriesByUsername.remove(ua.getUsername());
+            }
+        }
+    }
+
+    synchronized void accountRenamed(UserAccount ua, String oldUsername, Enterprise enterprise,
+            Organization organization) {
+        List<Entry> entries = entriesByUsername.get(oldUsername);
+        if (entries != null && entries.removeIf(entry -> entry.getUserAccount() == ua)) {
+            if (entries.isEmpty()) {
+                entriesByUsername.remove(oldUsername);
+            }
+            accountAdded(ua, enterprise, organization);
+        }
+    }
+
+    /**
+     * An account together with the enterprise and organization it logs into.
+     * Both are null for system accounts; organization is null for
+     * enterprise admins.
+     */
+    public static class Entry {
+        private UserAccount userAccount;
+        private Enterprise enterprise;
+        private Organization organization;
+
+        public Entry(UserAccount userAccount, Enterprise enterprise, Organization organization) {
+            this.userAccount = userAccount;
+            this.enterprise = enterprise;
+            this.organization = organization;
+        }
+
+        public UserAccount getUserAccount() {
+            return userAccount;
+        }
+
+        public Enterprise getEnterprise() {
+            return enterprise;
+        }
+
+        public Organization getOrganization() {
+            return organization;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package Business.UserAccount;
+
+import Business.DB4OUtil.DirtyTracker;
+import java.util.Arrays;
+
+/**
+ * Times bulk account provisioning: creates accounts one by one in a
+ * directory registered with a LoginIndex, so every create runs the
+ * duplicate check and updates the login index, then signs each one in.
+ *
+ * Run with
+ * mvn compile exec:java -Dexec.mainClass=Business.UserAccount.ProvisioningBenchmark
+ * and optionally pass the number of accounts (default 100000) and of timed
+ * runs (default 5). Each run uses a fresh directory and index; the first
+ * two runs warm up the JIT and are not reported.
+ */
+public class ProvisioningBenchmark {
+
+    private static final int WARMUP_RUNS = 2;
+
+    public static void main(String[] args) {
+        int accounts = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            run(accounts);
+        }
+        long[] create = new long[runs];
+        long[] login = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long[] times = run(accounts);
+            create[i] = times[0];
+            login[i] = times[1];
+        }
+        System.out.printf("%d accounts, %d runs (median / min / max ms)%n", accounts, runs);
+        System.out.println("  create: " + summary(create));
+        System.out.println("  login:  " + summary(login));
+    }
+
+    // Returns the nanoseconds spent creating and then authenticating
+    private static long[] run(int accounts) {
+        UserAccountDirectory directory = new UserAccountDirectory();
+        LoginIndex index = new LoginIndex();
+        index.registerDirectory(directory, null, null);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < accounts; i++) {
+            if (directory.createUserAccount("user" + i, "pw" + i, null, null) == null) {
+                throw new IllegalStateException("Duplicate username user" + i);
+            }
+        }
+        long created = System.nanoTime();
+        for (int i = 0; i < accounts; i++) {
+            if (index.authenticate("user" + i, "pw" + i) == null) {
+                throw new IllegalStateException("Could not sign in as user" + i);
+            }
+        }
+        long loggedIn = System.nanoTime();
+
+        DirtyTracker.clear(); // Nothing here is ever stored
+        return new long[]{created - start, loggedIn - created};
+    }
+
+    private static String summary(long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return String.format("%.1f / %.1f / %.1f", sorted[sorted.length / 2] / 1e6, sorted[0] / 1e6,
+                sorted[sorted.length - 1] / 1e6);
+    }
+}
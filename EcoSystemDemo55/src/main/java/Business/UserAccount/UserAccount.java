@@ -1,5 +1,6 @@
 package Business.UserAccount;
 
+import Business.DB4OUtil.DirtyTracker;
 import Business.Employee.Employee;
 import Business.Role.Role;
 
@@ -11,6 +12,8 @@ public class UserAccount {
     private Role role;
     private boolean isActive;
     private Business.WorkQueue.WorkQueue workQueue;
+    // Owning directory, notified when username or active flag change
+    private transient UserAccountDirectory directory;
 
     public UserAccount(String username, String password, Employee employee, Role role) {
         this.username = username;
@@ -26,7 +29,12 @@ public class UserAccount {
     }
 
     public void setUsername(String username) {
+        String oldUsername = this.username;
         this.username = username;
+        if (directory != null) {
+            directory.usernameChanged(this, oldUsername);
+        }
+        DirtyTracker.markDirty(this);
     }
 
     public String getPassword() {
@@ -35,6 +43,7 @@ public class UserAccount {
 
     public void setPassword(String password) {
         this.password = password;
+        DirtyTracker.markDirty(this);
     }
 
     public Employee getEmployee() {
@@ -43,6 +52,7 @@ public class UserAccount {
 
     public void setEmployee(Employee employee) {
         this.employee = employee;
+        DirtyTracker.markDirty(this);
     }
 
     public Role getRole() {
@@ -51,6 +61,7 @@ public class UserAccount {
 
     public void setRole(Role role) {
         this.role = role;
+        DirtyTracker.markDirty(this);
     }
 
     public boolean isActive() {
@@ -58,7 +69,16 @@ public class UserAccount {
     }
 
     public void setActive(boolean active) {
+        boolean wasActive = isActive;
         isActive = active;
+        if (directory != null) {
+            directory.activeChanged(this, wasActive);
+        }
+        DirtyTracker.markDirty(this);
+    }
+
+    void setDirectory(UserAccountDirectory directory) {
+        this.directory = directory;
     }
 
     public Business.WorkQueue.WorkQueue getWorkQueue() {
@@ -1,13 +1,34 @@
 package Business.UserAccount;
 
+import Business.DB4OUtil.DirtyTracker;
 import Business.Employee.Employee;
+import Business.Enterprise.Enterprise;
+import Business.Organization.Organization;
 import Business.Role.Role;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 public class UserAccountDirectory {
 
     private ArrayList<UserAccount> userAccountList;
 
+    // Set when this directory is registered with the system login index
+    private transient LoginIndex loginIndex;
+    private transient Enterprise ownerEnterprise;
+    private transient Organization ownerOrganization;
+
+    // Accounts keyed by lowercased username, plus the number of active
+    // accounts. Not persisted; rebuilt on first use.
+    private transient Map<String, List<UserAccount>> accountsByName;
+    private transient int activeCount;
+
+    // Whether the accounts point back at this directory. Not persisted, so
+    // accounts loaded from the database are adopted on first use.
+    private transient boolean adopted;
+
     public UserAccountDirectory() {
         userAccountList = new ArrayList<>();
     }
@@ -17,7 +38,7 @@ public class UserAccountDirectory {
             return null;
         }
 
-        for (UserAccount ua : userAccountList) {
+        for (UserAccount ua : findByName(username)) {
             if (ua.getUsername().equals(username) && ua.getPassword().equals(password)) {
                 if (ua.isActive()) {
                     return ua;
@@ -35,20 +56,41 @@ public class UserAccountDirectory {
 
         UserAccount ua = new UserAccount(username, password, employee, role);
         userAccountList.add(ua);
+        ua.setDirectory(this);
+        index(ua);
+        if (loginIndex != null) {
+            loginIndex.accountAdded(ua, ownerEnterprise, ownerOrganization);
+        }
+        DirtyTracker.markDirty(this);
         return ua;
     }
 
-    public boolean checkIfUsernameExists(String username) {
-        for (UserAccount ua : userAccountList) {
-            if (ua.getUsername().equalsIgnoreCase(username)) {
-                return true;
+    public boolean removeUserAccount(UserAccount ua) {
+        adoptAccounts();
+        boolean removed = userAccountList.remove(ua);
+        if (removed) {
+            unindex(ua, ua.getUsername());
+            ua.setDirectory(null);
+            if (loginIndex != null) {
+                loginIndex.accountRemoved(ua);
             }
+            DirtyTracker.markDirty(this);
         }
-        return false;
+        return removed;
+    }
+
+    void attach(LoginIndex loginIndex, Enterprise enterprise, Organization organization) {
+        this.loginIndex = loginIndex;
+        this.ownerEnterprise = enterprise;
+        this.ownerOrganization = organization;
+    }
+
+    public boolean checkIfUsernameExists(String username) {
+        return !findByName(username).isEmpty();
     }
 
     public UserAccount getUserAccountByUsername(String username) {
-        for (UserAccount ua : userAccountList) {
+        for (UserAccount ua : findByName(username)) {
             if (ua.getUsername().equals(username)) {
                 return ua;
             }
@@ -57,6 +99,7 @@ public class UserAccountDirectory {
     }
 
     public ArrayList<UserAccount> getUserAccountList() {
+        adoptAccounts();
         return userAccountList;
     }
 
@@ -65,12 +108,87 @@ public class UserAccountDirectory {
     }
 
     public int getActiveUsers() {
-        int count = 0;
+        ensureIndex();
+        return activeCount;
+    }
+
+    // Index maintenance, called back by UserAccount setters
+
+    void usernameChanged(UserAccount ua, String oldUsername) {
+        if (accountsByName != null) {
+            unindex(ua, oldUsername);
+            index(ua);
+        }
+        if (loginIndex != null) {
+            loginIndex.accountRenamed(ua, oldUsername, ownerEnterprise, ownerOrganization);
+        }
+    }
+
+    void activeChanged(UserAccount ua, boolean wasActive) {
+        if (accountsByName != null && wasActive != ua.isActive()) {
+            activeCount += ua.isActive() ? 1 : -1;
+        }
+    }
+
+    private List<UserAccount> findByName(String username) {
+        if (username == null) {
+            return List.of();
+        }
+        ensureIndex();
+        return accountsByName.getOrDefault(normalize(username), List.of());
+    }
+
+    private void ensureIndex() {
+        adoptAccounts();
+        if (accountsByName != null) {
+            return;
+        }
+        accountsByName = new HashMap<>();
+        activeCount = 0;
         for (UserAccount ua : userAccountList) {
+            index(ua);
+        }
+    }
+
+    private void index(UserAccount ua) {
+        if (accountsByName == null) {
+            ensureIndex(); // already includes ua, which is in the list
+            return;
+        }
+        accountsByName.computeIfAbsent(normalize(ua.getUsername()), k -> new ArrayList<>(1)).add(ua);
+        if (ua.isActive()) {
+            activeCount++;
+        }
+    }
+
+    // Points every account back at this directory so renames and
+    // activation changes reach the index and the login index
+    private void adoptAccounts() {
+        if (adopted) {
+            return;
+        }
+        for (UserAccount ua : userAccountList) {
+            ua.setDirectory(this);
+        }
+        adopted = true;
+    }
+
+    private void unindex(UserAccount ua, String username) {
+        if (accountsByName == null) {
+            return;
+        }
+        List<UserAccount> accounts = accountsByName.get(normalize(username));
+        if (accounts != null && accounts.remove(ua)) {
+            if (accounts.isEmpty()) {
+                accountsByName.remove(normalize(username));
+            }
             if (ua.isActive()) {
-                count++;
+                activeCount--;
             }
         }
-        return count;
+    }
+
+    private static String normalize(String username) {
+        return username.toLowerCase(Locale.ROOT);
     }
 }
@@ -0,0 +1,73 @@
+package Business.Utils;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Thread-safe id source for work requests, billboards, employees and
+ * organizations.
+ *
+ * Each thread reserves ids in blocks of BLOCK_SIZE from a shared atomic
+ * counter and hands them out without further synchronization. Every
+ * reservation raises the attached IdHighWaterMark, which is persisted with
+ * the EcoSystem, so a restarted application continues above any id that
+ * may already be stored. Ids are unique but not dense: the unused part of a
+ * thread's block is skipped.
+ */
+public class IdAllocator {
+
+    private static final int BLOCK_SIZE = 64;
+
+    private static final AtomicIntegerArray nextFree = initialIds();
+    private static volatile IdHighWaterMark highWaterMark;
+    // Bumped by attach so blocks reserved before it are dropped
+    private static volatile int generation;
+
+    // Per thread and sequence: next id, end of block (exclusive), generation
+    private static final ThreadLocal<int[]> blocks =
+            ThreadLocal.withInitial(() -> new int[IdSequence.values().length * 3]);
+
+    private IdAllocator() {
+    }
+
+    public static int nextId(IdSequence sequence) {
+        int[] block = blocks.get();
+        int i = sequence.ordinal() * 3;
+        if (block[i] >= block[i + 1] || block[i + 2] != generation) {
+            block[i + 2] = generation;
+            block[i] = reserve(sequence);
+            block[i + 1] = block[i] + BLOCK_SIZE;
+        }
+        return block[i]++;
+    }
+
+    /**
+     * Continues every sequence above the given mark and keeps the mark
+     * raised as further blocks are reserved. Called once the EcoSystem that
+     * owns the mark has been created or loaded.
+     */
+    public static synchronized void attach(IdHighWaterMark mark) {
+        for (IdSequence sequence : IdSequence.values()) {
+            int next = nextFree.accumulateAndGet(sequence.ordinal(), mark.get(sequence), Math::max);
+            mark.raise(sequence, next);
+        }
+        highWaterMark = mark;
+        generation++;
+    }
+
+    private static int reserve(IdSequence sequence) {
+        int start = nextFree.getAndAdd(sequence.ordinal(), BLOCK_SIZE);
+        IdHighWaterMark mark = highWaterMark;
+        if (mark != null) {
+            mark.raise(sequence, start + BLOCK_SIZE);
+        }
+        return start;
+    }
+
+    private static AtomicIntegerArray initialIds() {
+        AtomicIntegerArray ids = new AtomicIntegerArray(IdSequence.values().length);
+        for (IdSequence sequence : IdSequence.values()) {
+            ids.set(sequence.ordinal(), sequence.getFirstId());
+        }
+        return ids;
+    }
+}
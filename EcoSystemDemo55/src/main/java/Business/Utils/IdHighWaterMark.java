@@ -0,0 +1,49 @@
+package Business.Utils;
+
+import Business.DB4OUtil.DirtyTracker;
+
+/**
+ * Persisted ceiling of every id reserved by IdAllocator, per sequence.
+ * Stored with the EcoSystem so ids keep increasing across runs instead of
+ * restarting at the first id.
+ */
+public class IdHighWaterMark {
+
+    private int[] nextIds; // indexed by IdSequence ordinal
+
+    public IdHighWaterMark() {
+        nextIds = new int[IdSequence.values().length];
+        for (IdSequence sequence : IdSequence.values()) {
+            nextIds[sequence.ordinal()] = sequence.getFirstId();
+        }
+    }
+
+    /**
+     * Returns the lowest id of the sequence that has not been reserved.
+     */
+    public synchronized int get(IdSequence sequence) {
+        if (sequence.ordinal() >= nextIds.length) {
+            return sequence.getFirstId();
+        }
+        return nextIds[sequence.ordinal()];
+    }
+
+    /**
+     * Raises the mark to nextId if it is higher than the current one.
+     */
+    public synchronized void raise(IdSequence sequence, int nextId) {
+        if (sequence.ordinal() >= nextIds.length) {
+            // Sequence added after this mark was stored
+            int[] grown = new int[IdSequence.values().length];
+            System.arraycopy(nextIds, 0, grown, 0, nextIds.length);
+            for (int i = nextIds.length; i < grown.length; i++) {
+                grown[i] = IdSequence.values()[i].getFirstId();
+            }
+            nextIds = grown;
+        }
+        if (nextId > nextIds[sequence.ordinal()]) {
+            nextIds[sequence.ordinal()] = nextId;
+            DirtyTracker.markDirty(this);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package Business.Utils;
+
+/**
+ * Id sequences handed out by IdAllocator, each with the first id it issues.
+ */
+public enum IdSequence {
+    WORK_REQUEST("Work Request", 1),
+    BILLBOARD("Billboard", 1000),
+    EMPLOYEE("Employee", 1),
+    ORGANIZATION("Organization", 1);
+
+    private String value;
+    private int firstId;
+
+    private IdSequence(String value, int firstId) {
+        this.value = value;
+        this.firstId = firstId;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public int getFirstId() {
+        return firstId;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -0,0 +1,193 @@
+package Business.WorkQueue;
+
+import Business.Billboard.Billboard;
+import Business.Billboard.BillboardDirectory;
+import Business.UserAccount.UserAccount;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Approves many campaign bookings at once. Requests are grouped by board
+ * and each board is handled in one pass in start date order: the earliest
+ * request that fits is booked, and later ones that overlap a booking made
+ * earlier in the pass go to the waitlist.
+ *
+ * A board that cannot be processed, because the processor rejected the
+ * work or the approval failed, does not fail the batch: its requests are
+ * reported in Result.getFailed and the other boards are still approved.
+ */
+public class BatchBookingApproval {
+
+    private static final Logger LOGGER = Logger.getLogger(BatchBookingApproval.class.getName());
+    private static final Comparator<CampaignBookingRequest> BY_START_DATE = Comparator
+            .comparing(CampaignBookingRequest::getStartDate, Comparator.nullsLast(Comparator.<Date>naturalOrder()))
+            .thenComparingInt(WorkRequest::getRequestId);
+
+    private BatchBookingApproval() {
+    }
+
+    /**
+     * Approves the requests on the calling thread.
+     */
+    public static Result approve(Collection<CampaignBookingRequest> requests, BillboardDirectory directory,
+            UserAccount salesAgent) {
+        Result result = new Result();
+        for (Map.Entry<Integer, List<CampaignBookingRequest>> group : groupByBoard(requests).entrySet()) {
+            result.merge(approveBoard(group.getKey(), group.getValue(), directory, salesAgent));
+        }
+        return result;
+    }
+
+    /**
+     * Approves the requests on the processor with one task per lane, holding
+     * all of that lane's boards. Boards are handled in parallel across lanes
+     * and in order with other work on the same board, and a large batch
+     * adds at most one task to each lane's bounded queue.
+     */
+    public static CompletableFuture<Result> submit(Collection<CampaignBookingRequest> requests,
+            BillboardDirectory directory, UserAccount salesAgent, RequestProcessor processor) {
+        Map<Integer, Map<Integer, List<CampaignBookingRequest>>> byLane = new LinkedHashMap<>();
+        for (Map.Entry<Integer, List<CampaignBookingRequest>> group : groupByBoard(requests).entrySet()) {
+            byLane.computeIfAbsent(processor.laneOf(group.getKey()), k -> new LinkedHashMap<>())
+                    .put(group.getKey(), group.getValue());
+        }
+
+        List<CompletableFuture<Result>> lanes = new ArrayList<>();
+        for (Map<Integer, List<CampaignBookingRequest>> boards : byLane.values()) {
+            int key = boards.keySet().iterator().next();
+            lanes.add(processor.submit(key, () -> approveBoards(boards, directory, salesAgent))
+                    .exceptionally(error -> {
+                        // Rejected by a full lane: nothing on these boards was touched
+                        Result failed = new Result();
+                        for (List<CampaignBookingRequest> group : boards.values()) {
+                            failed.failed.addAll(group);
+                        }
+                        return failed;
+                    }));
+        }
+        return CompletableFuture.allOf(lanes.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            Result result = new Result();
+            for (CompletableFuture<Result> lane : lanes) {
+                result.merge(lane.join());
+            }
+            return result;
+        });
+    }
+
+    private static Result approveBoards(Map<Integer, List<CampaignBookingRequest>> boards,
+            BillboardDirectory directory, UserAccount salesAgent) {
+        Result result = new Result();
+        for (Map.Entry<Integer, List<CampaignBookingRequest>> group : boards.entrySet()) {
+            result.merge(approveBoard(group.getKey(), group.getValue(), directory, salesAgent));
+        }
+        return result;
+    }
+
+    private static Map<Integer, List<CampaignBookingRequest>> groupByBoard(
+            Collection<CampaignBookingRequest> requests) {
+        Map<Integer, List<CampaignBookingRequest>> groups = new LinkedHashMap<>();
+        for (CampaignBookingRequest request : requests) {
+            groups.computeIfAbsent(request.getBoardId(), k -> new ArrayList<>()).add(request);
+        }
+        return groups;
+    }
+
+    private static Result approveBoard(int boardId, List<CampaignBookingRequest> requests,
+            BillboardDirectory directory, UserAccount salesAgent) {
+        Result result = new Result();
+        Billboard b = directory.getBillboardById(boardId);
+        if (b == null) {
+            result.notFound.addAll(requests);
+            return result;
+        }
+        requests.sort(BY_START_DATE);
+        for (CampaignBookingRequest request : requests) {
+            try {
+                result.add(RequestWorkflow.approveBooking(request, b, salesAgent), request);
+            } catch (RuntimeException ex) {
+                LOGGER.log(Level.WARNING, "Could not approve booking request " + request.getRequestId(), ex);
+                result.failed.add(request);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Outcome of a batch, by decision.
+     */
+    public static class Result {
+        private final List<CampaignBookingRequest> approved = new ArrayList<>();
+        private final List<CampaignBookingRequest> waitlisted = new ArrayList<>();
+        private final List<CampaignBookingRequest> alreadyProcessed = new ArrayList<>();
+        private final List<CampaignBookingRequest> notFound = new ArrayList<>();
+        private final List<CampaignBookingRequest> failed = new ArrayList<>();
+
+        public List<CampaignBookingRequest> getApproved() {
+            return Collections.unmodifiableList(approved);
+        }
+
+        public List<CampaignBookingRequest> getWaitlisted() {
+            return Collections.unmodifiableList(waitlisted);
+        }
+
+        public List<CampaignBookingRequest> getAlreadyProcessed() {
+            return Collections.unmodifiableList(alreadyProcessed);
+        }
+
+        public List<CampaignBookingRequest> getNotFound() {
+            return Collections.unmodifiableList(notFound);
+        }
+
+        /**
+         * Requests left unprocessed because their board could not be handled.
+         */
+        public List<CampaignBookingRequest> getFailed() {
+            return Collections.unmodifiableList(failed);
+        }
+
+        public int getTotal() {
+            return approved.size() + waitlisted.size() + alreadyProcessed.size() + notFound.size() + failed.size();
+        }
+
+        private void add(RequestWorkflow.BookingDecision decision, CampaignBookingRequest request) {
+            switch (decision) {
+                case APPROVED:
+                    approved.add(request);
+                    break;
+                case WAITLISTED:
+                    waitlisted.add(request);
+                    break;
+                case ALREADY_PROCESSED:
+                    alreadyProcessed.add(request);
+                    break;
+                case BOARD_NOT_FOUND:
+                    notFound.add(request);
+                    break;
+            }
+        }
+
+        private void merge(Result other) {
+            approved.addAll(other.approved);
+            waitlisted.addAll(other.waitlisted);
+            alreadyProcessed.addAll(other.alreadyProcessed);
+            notFound.addAll(other.notFound);
+            failed.addAll(other.failed);
+        }
+
+        @Override
+        public String toString() {
+            String summary = String.format("%d approved, %d waitlisted, %d already processed, %d board not found",
+                    approved.size(), waitlisted.size(), alreadyProcessed.size(), notFound.size());
+            return failed.isEmpty() ? summary : summary + String.format(", %d failed", failed.size());
+        }
+    }
+}
@@ -4,7 +4,9 @@
  */
 package Business.WorkQueue;
 
+import Business.DB4OUtil.DirtyTracker;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 /**
  *
@@ -14,6 +16,8 @@ public class BoardSelectionRequest extends WorkRequest {
     
     private List<Integer> selectedBoardIds = new ArrayList<>();
     private String campaignName;
+    private Date startDate;
+    private Date endDate;
 
     public List<Integer> getSelectedBoardIds() {
         return selectedBoardIds;
@@ -21,10 +25,12 @@ public class BoardSelectionRequest extends WorkRequest {
 
     public void setSelectedBoardIds(List<Integer> selectedBoardIds) {
         this.selectedBoardIds = selectedBoardIds;
+        DirtyTracker.markDirty(this);
     }
 
     public void addBoardId(int boardId) {
         this.selectedBoardIds.add(boardId);
+        DirtyTracker.markDirty(this);
     }
 
     public String getCampaignName() {
@@ -33,5 +39,24 @@ public class BoardSelectionRequest extends WorkRequest {
 
     public void setCampaignName(String campaignName) {
         this.campaignName = campaignName;
+        DirtyTracker.markDirty(this);
+    }
+
+    public Date getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(Date startDate) {
+        this.startDate = startDate;
+        DirtyTracker.markDirty(this);
+    }
+
+    public Date getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(Date endDate) {
+        this.endDate = endDate;
+        DirtyTracker.markDirty(this);
     }
 }
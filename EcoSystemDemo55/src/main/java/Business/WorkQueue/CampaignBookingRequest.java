@@ -4,6 +4,7 @@
  */
 package Business.WorkQueue;
 
+import Business.DB4OUtil.DirtyTracker;
 import java.util.Date;
 
 /**
@@ -26,6 +27,7 @@ public class CampaignBookingRequest extends WorkRequest {
 
     public void setBoardId(int boardId) {
         this.boardId = boardId;
+        DirtyTracker.markDirty(this);
     }
 
     public Date getStartDate() {
@@ -34,6 +36,7 @@ public class CampaignBookingRequest extends WorkRequest {
 
     public void setStartDate(Date startDate) {
         this.startDate = startDate;
+        DirtyTracker.markDirty(this);
     }
 
     public Date getEndDate() {
@@ -42,6 +45,7 @@ public class CampaignBookingRequest extends WorkRequest {
 
     public void setEndDate(Date endDate) {
         this.endDate = endDate;
+        DirtyTracker.markDirty(this);
     }
 
     public double getBudget() {
@@ -50,6 +54,7 @@ public class CampaignBookingRequest extends WorkRequest {
 
     public void setBudget(double budget) {
         this.budget = budget;
+        DirtyTracker.markDirty(this);
     }
 
     public String getCampaignName() {
@@ -58,6 +63,7 @@ public class CampaignBookingRequest extends WorkRequest {
 
     public void setCampaignName(String campaignName) {
         this.campaignName = campaignName;
+        DirtyTracker.markDirty(this);
     }
 
     public String getClientName() {
@@ -66,6 +72,7 @@ public class CampaignBookingRequest extends WorkRequest {
 
     public void setClientName(String clientName) {
         this.clientName = clientName;
+        DirtyTracker.markDirty(this);
     }
 
     public String getCreativeContent() {
@@ -74,5 +81,6 @@ public class CampaignBookingRequest extends WorkRequest {
 
     public void setCreativeContent(String creativeContent) {
         this.creativeContent = creativeContent;
+        DirtyTracker.markDirty(this);
     }
 }
@@ -4,6 +4,8 @@
  */
 package Business.WorkQueue;
 
+import Business.DB4OUtil.DirtyTracker;
+
 /**
  *
  * @author prekshapraveen
@@ -19,6 +21,7 @@ public class ComplianceInspectionRequest extends WorkRequest {
 
     public void setBoardId(int boardId) {
         this.boardId = boardId;
+        DirtyTracker.markDirty(this);
     }
 
     public String getInspectionType() {
@@ -27,6 +30,7 @@ public class ComplianceInspectionRequest extends WorkRequest {
 
     public void setInspectionType(String inspectionType) {
         this.inspectionType = inspectionType;
+        DirtyTracker.markDirty(this);
     }
     
 }
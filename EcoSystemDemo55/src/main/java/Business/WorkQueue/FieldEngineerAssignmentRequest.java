@@ -4,6 +4,8 @@
  */
 package Business.WorkQueue;
 
+import Business.DB4OUtil.DirtyTracker;
+
 /**
  *
  * @author prekshapraveen
@@ -20,6 +22,7 @@ public class FieldEngineerAssignmentRequest extends WorkRequest {
 
     public void setEngineerId(int engineerId) {
         this.engineerId = engineerId;
+        DirtyTracker.markDirty(this);
     }
 
     public String getTaskDescription() {
@@ -28,6 +31,7 @@ public class FieldEngineerAssignmentRequest extends WorkRequest {
 
     public void setTaskDescription(String taskDescription) {
         this.taskDescription = taskDescription;
+        DirtyTracker.markDirty(this);
     }
 
     public PowerIssueRequest getPowerRequest() {
@@ -36,6 +40,7 @@ public class FieldEngineerAssignmentRequest extends WorkRequest {
 
     public void setPowerRequest(PowerIssueRequest powerRequest) {
         this.powerRequest = powerRequest;
+        DirtyTracker.markDirty(this);
     }
 
     private int powerRequestId;
@@ -46,5 +51,18 @@ public class FieldEngineerAssignmentRequest extends WorkRequest {
 
     public void setPowerRequestId(int powerRequestId) {
         this.powerRequestId = powerRequestId;
+        DirtyTracker.markDirty(this);
+    }
+
+    // Board of the power issue; 0 on assignments stored before it was kept
+    private int boardId;
+
+    public int getBoardId() {
+        return boardId;
+    }
+
+    public void setBoardId(int boardId) {
+        this.boardId = boardId;
+        DirtyTracker.markDirty(this);
     }
 }
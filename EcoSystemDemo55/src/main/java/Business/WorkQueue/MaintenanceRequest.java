@@ -4,6 +4,8 @@
  */
 package Business.WorkQueue;
 
+import Business.DB4OUtil.DirtyTracker;
+
 /**
  *
  * @author prekshapraveen
@@ -20,6 +22,7 @@ public class MaintenanceRequest extends WorkRequest {
 
     public void setBoardId(int boardId) {
         this.boardId = boardId;
+        DirtyTracker.markDirty(this);
     }
 
     public String getIssueDescription() {
@@ -28,6 +31,7 @@ public class MaintenanceRequest extends WorkRequest {
 
     public void setIssueDescription(String issueDescription) {
         this.issueDescription = issueDescription;
+        DirtyTracker.markDirty(this);
     }
 
     public String getUrgencyLevel() {
@@ -36,6 +40,7 @@ public class MaintenanceRequest extends WorkRequest {
 
     public void setUrgencyLevel(String urgencyLevel) {
         this.urgencyLevel = urgencyLevel;
+        DirtyTracker.markDirty(this);
     }
     
 }
@@ -0,0 +1,105 @@
+package Business.WorkQueue;
+
+import Business.Billboard.Billboard;
+import Business.Billboard.BillboardDirectory;
+import Business.Billboard.BoardLocks;
+import Business.UserAccount.UserAccount;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Books every board of a BoardSelectionRequest for the campaign dates, or
+ * none of them. The stripes of all selected boards are held while their
+ * availability is checked and the bookings are made, so no other booking
+ * can take one of the boards in between.
+ */
+public class MultiBoardReservation {
+
+    private MultiBoardReservation() {
+    }
+
+    public static Result reserve(BoardSelectionRequest request, BillboardDirectory directory,
+            UserAccount salesAgent) {
+        Set<Integer> boardIds = new LinkedHashSet<>(request.getSelectedBoardIds());
+        Date start = request.getStartDate();
+        Date end = request.getEndDate();
+        if (start == null || end == null || end.before(start)) {
+            return Result.failed("The proposal has no valid campaign dates.", Collections.emptyList());
+        }
+
+        BoardLocks.Held held = BoardLocks.lock(boardIds);
+        try {
+            if (!RequestWorkflow.isAwaitingSales(request)) {
+                return Result.failed("Request is already processed.", Collections.emptyList());
+            }
+
+            // Check every board before booking any
+            List<Billboard> boards = new ArrayList<>();
+            List<Integer> conflicts = new ArrayList<>();
+            for (int boardId : boardIds) {
+                Billboard b = directory.getBillboardById(boardId);
+                if (b == null || !b.isAvailableForDates(start, end)) {
+                    conflicts.add(boardId);
+                } else {
+                    boards.add(b);
+                }
+            }
+            if (!conflicts.isEmpty()) {
+                return Result.failed("Boards unavailable for the campaign dates: " + conflicts, conflicts);
+            }
+
+            String client = request.getCampaignName() != null ? request.getCampaignName()
+                    : request.getSender() != null ? request.getSender().getUsername() : "N/A";
+            for (Billboard b : boards) {
+                b.addBooking(start, end, client);
+                b.refreshStatus();
+            }
+            request.setStatus("Approved");
+            request.setResolveDate(new Date());
+            if (request.getReceiver() == null) {
+                request.setReceiver(salesAgent);
+            }
+            return new Result(true, "Reserved " + boards.size() + " boards.", Collections.emptyList());
+        } finally {
+            held.release();
+        }
+    }
+
+    /**
+     * Whether the boards were reserved, and if not, why.
+     */
+    public static class Result {
+        private final boolean reserved;
+        private final String message;
+        private final List<Integer> conflicts;
+
+        private Result(boolean reserved, String message, List<Integer> conflicts) {
+            this.reserved = reserved;
+            this.message = message;
+            this.conflicts = conflicts;
+        }
+
+        private static Result failed(String message, List<Integer> conflicts) {
+            return new Result(false, message, conflicts);
+        }
+
+        public boolean isReserved() {
+            return reserved;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        /**
+         * Ids of the boards that were missing or already booked.
+         */
+        public List<Integer> getConflicts() {
+            return Collections.unmodifiableList(conflicts);
+        }
+    }
+}
@@ -4,6 +4,7 @@
  */
 package Business.WorkQueue;
 
+import Business.DB4OUtil.DirtyTracker;
 import java.util.Date;
 /**
  *
@@ -22,6 +23,7 @@ public class PermitRequest extends WorkRequest {
 
     public void setBoardId(int boardId) {
         this.boardId = boardId;
+        DirtyTracker.markDirty(this);
     }
 
     public String getRequestedBy() {
@@ -30,6 +32,7 @@ public class PermitRequest extends WorkRequest {
 
     public void setRequestedBy(String requestedBy) {
         this.requestedBy = requestedBy;
+        DirtyTracker.markDirty(this);
     }
 
     public Date getValidUntil() {
@@ -38,6 +41,7 @@ public class PermitRequest extends WorkRequest {
 
     public void setValidUntil(Date validUntil) {
         this.validUntil = validUntil;
+        DirtyTracker.markDirty(this);
     }
     
 }
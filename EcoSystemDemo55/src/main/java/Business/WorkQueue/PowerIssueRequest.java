@@ -4,6 +4,8 @@
  */
 package Business.WorkQueue;
 
+import Business.DB4OUtil.DirtyTracker;
+
 /**
  *
  * @author prekshapraveen
@@ -20,6 +22,7 @@ public class PowerIssueRequest extends WorkRequest {
 
     public void setBoardId(int boardId) {
         this.boardId = boardId;
+        DirtyTracker.markDirty(this);
     }
 
     public String getSeverity() {
@@ -28,6 +31,7 @@ public class PowerIssueRequest extends WorkRequest {
 
     public void setSeverity(String severity) {
         this.severity = severity;
+        DirtyTracker.markDirty(this);
     }
 
     public String getOutageType() {
@@ -36,5 +40,6 @@ public class PowerIssueRequest extends WorkRequest {
 
     public void setOutageType(String outageType) {
         this.outageType = outageType;
+        DirtyTracker.markDirty(this);
     }
 }
@@ -0,0 +1,120 @@
+package Business.WorkQueue;
+
+import Business.DB4OUtil.StoreGate;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs work request state transitions off the Swing event thread.
+ *
+ * Tasks are spread over a fixed number of lanes, each a single worker
+ * thread with a bounded queue. Tasks with the same key, normally the board
+ * id, always use the same lane, so transitions on one billboard run one at
+ * a time and in submission order. When a lane's queue is full the returned
+ * future fails with RejectedExecutionException instead of blocking the
+ * caller. Tasks run through StoreGate, so they pause while the system is
+ * being stored.
+ */
+public class RequestProcessor {
+
+    private static final int QUEUE_CAPACITY = 1024;
+    private static RequestProcessor processor;
+
+    private final ThreadPoolExecutor[] lanes;
+
+    public synchronized static RequestProcessor getInstance() {
+        if (processor == null) {
+            processor = new RequestProcessor(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        }
+        return processor;
+    }
+
+    public RequestProcessor(int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("At least one worker is required");
+        }
+        lanes = new ThreadPoolExecutor[workers];
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        for (int i = 0; i < workers; i++) {
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+                        Thread thread = new Thread(runnable, "request-worker-" + threadNumber.getAndIncrement());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+    }
+
+    /**
+     * Queues the task on the lane for this key and returns its result.
+     */
+    public <T> CompletableFuture<T> submit(int key, Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(() -> StoreGate.run(task), laneFor(key));
+        } catch (RejectedExecutionException ex) {
+            return CompletableFuture.failedFuture(
+                    new RejectedExecutionException("Request processing queue is full", ex));
+        }
+    }
+
+    public CompletableFuture<Void> submit(int key, Runnable task) {
+        return submit(key, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Lane that tasks with this key run on. Tasks for keys on the same lane
+     * run one at a time, in submission order.
+     */
+    public int laneOf(int key) {
+        return Math.floorMod(key, lanes.length);
+    }
+
+    /**
+     * Number of tasks queued or running across all lanes.
+     */
+    public int getPendingCount() {
+        int pending = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            pending += lane.getQueue().size() + lane.getActiveCount();
+        }
+        return pending;
+    }
+
+    /**
+     * Waits until every task submitted before this call has finished, for
+     * example before the system is saved. Returns false on timeout.
+     */
+    public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+        CompletableFuture<?>[] barriers = new CompletableFuture<?>[lanes.length];
+        try {
+            for (int i = 0; i < lanes.length; i++) {
+                barriers[i] = CompletableFuture.runAsync(() -> {
+                }, lanes[i]);
+            }
+            CompletableFuture.allOf(barriers).get(timeout, unit);
+            return true;
+        } catch (TimeoutException | ExecutionException | RejectedExecutionException ex) {
+            return false;
+        }
+    }
+
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+    private ThreadPoolExecutor laneFor(int key) {
+        return lanes[laneOf(key)];
+    }
+}
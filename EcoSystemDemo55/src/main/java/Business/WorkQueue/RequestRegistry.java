@@ -0,0 +1,92 @@
+package Business.WorkQueue;
+
+import Business.Utils.IntIntMap;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+
+/**
+ * System-wide lookup of work requests by requestId, so a request linked by
+ * id (such as the power issue behind a field engineer assignment) is found
+ * without searching every queue.
+ *
+ * WorkQueue.addWorkRequest registers new requests; requests loaded from the
+ * database are registered by EcoSystem.getRequestRegistry. Requests are
+ * held weakly, so one that is dropped from every queue is forgotten.
+ */
+public class RequestRegistry {
+
+    private static RequestRegistry registry;
+
+    private final IntIntMap slotById; // requestId -> index in requests
+    private final ArrayList<Slot> requests;
+
+    private RequestRegistry() {
+        slotById = new IntIntMap(-1);
+        requests = new ArrayList<>();
+    }
+
+    public synchronized static RequestRegistry getInstance() {
+        if (registry == null) {
+            registry = new RequestRegistry();
+        }
+        return registry;
+    }
+
+    public synchronized void register(WorkRequest request) {
+        int slot = slotById.get(request.getRequestId());
+        if (slot >= 0) {
+            requests.set(slot, new Slot(request));
+        } else {
+            slotById.put(request.getRequestId(), requests.size());
+            requests.add(new Slot(request));
+        }
+    }
+
+    /**
+     * Returns the request with this id, or null if none is registered.
+     */
+    public synchronized WorkRequest get(int requestId) {
+        int slot = slotById.get(requestId);
+        if (slot < 0) {
+            return null;
+        }
+        WorkRequest request = requests.get(slot).reference.get();
+        if (request == null) {
+            removeSlot(requestId, slot);
+        }
+        return request;
+    }
+
+    public synchronized boolean unregister(int requestId) {
+        int slot = slotById.get(requestId);
+        if (slot < 0) {
+            return false;
+        }
+        removeSlot(requestId, slot);
+        return true;
+    }
+
+    public synchronized int size() {
+        return slotById.size();
+    }
+
+    // Moves the last entry into the freed slot
+    private void removeSlot(int requestId, int slot) {
+        slotById.remove(requestId);
+        Slot last = requests.remove(requests.size() - 1);
+        if (slot < requests.size()) {
+            requests.set(slot, last);
+            slotById.put(last.requestId, slot);
+        }
+    }
+
+    private static class Slot {
+        private final int requestId;
+        private final WeakReference<WorkRequest> reference;
+
+        Slot(WorkRequest request) {
+            this.requestId = request.getRequestId();
+            this.reference = new WeakReference<>(request);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package Business.WorkQueue;
+
+import Business.Billboard.Billboard;
+import Business.Billboard.BillboardDirectory;
+import Business.Billboard.BillboardStatus;
+import Business.Billboard.BoardLocks;
+import Business.EcoSystem;
+import Business.Enterprise.Enterprise;
+import Business.Enterprise.EnterpriseType;
+import Business.Enterprise.SkyViewBillboardEnterprise;
+import Business.Network.Network;
+import Business.Organization.Organization;
+import Business.UserAccount.UserAccount;
+import java.util.Date;
+
+/**
+ * State transitions that touch more than the request itself: billboard
+ * bookings, follow-up requests and linked requests. Each method re-checks
+ * the request's status first, so a transition submitted twice to the
+ * RequestProcessor only takes effect once.
+ */
+public class RequestWorkflow {
+
+    public enum BookingDecision {
+        APPROVED("Approved"),
+        WAITLISTED("Waitlisted"),
+        ALREADY_PROCESSED("Already Processed"),
+        BOARD_NOT_FOUND("Board Not Found");
+
+        private String value;
+
+        private BookingDecision(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+
+    private RequestWorkflow() {
+    }
+
+    public static boolean isAwaitingSales(WorkRequest request) {
+        return request.getStatus().equals("Pending") || request.getStatus().equals("Sent to Sales");
+    }
+
+    /**
+     * Books the board if it is free for the requested dates, otherwise puts
+     * the sender on the board's waitlist.
+     */
+    public static BookingDecision approveBooking(CampaignBookingRequest request, BillboardDirectory directory,
+            UserAccount salesAgent) {
+        if (!isAwaitingSales(request)) {
+            return BookingDecision.ALREADY_PROCESSED;
+        }
+        Billboard b = directory.getBillboardById(request.getBoardId());
+        if (b == null) {
+            return BookingDecision.BOARD_NOT_FOUND;
+        }
+        return approveBooking(request, b, salesAgent);
+    }
+
+    /**
+     * Same as approveBooking with a directory, for a board already looked up.
+     */
+    public static BookingDecision approveBooking(CampaignBookingRequest request, Billboard b,
+            UserAccount salesAgent) {
+        if (!isAwaitingSales(request)) {
+            return BookingDecision.ALREADY_PROCESSED;
+        }
+        BookingDecision decision;
+        // Same stripe as multi-board reservations, so the check and booking are atomic
+        BoardLocks.Held held = BoardLocks.lock(b.getBoardId());
+        try {
+            if (b.isAvailableForDates(request.getStartDate(), request.getEndDate())) {
+                b.addBooking(request.getStartDate(), request.getEndDate(), request.getClientName());
+                b.refreshStatus();
+
+                request.setStatus("Approved");
+                decision = BookingDecision.APPROVED;
+            } else {
+                b.joinWaitlist(request, "Booking Conflict for " + request.getClientName());
+
+                request.setStatus("Waitlisted");
+                request.setMessage("Board Occupied. Added to Waitlist.");
+                decision = BookingDecision.WAITLISTED;
+            }
+        } finally {
+            held.release();
+        }
+        request.setResolveDate(new Date());
+        if (request.getReceiver() == null) {
+            request.setReceiver(salesAgent);
+        }
+        return decision;
+    }
+
+    /**
+     * Cancels an approved or waitlisted booking request. An approved
+     * booking is removed from its board, which frees the dates for the
+     * board's waitlist; a waitlisted one is dropped from the waitlist when
+     * it next comes up. Returns false if there was nothing to cancel.
+     */
+    public static boolean cancelBooking(CampaignBookingRequest request, BillboardDirectory directory,
+            UserAccount user) {
+        if (request.getStatus().equals("Approved")) {
+            Billboard b = directory.getBillboardById(request.getBoardId());
+            if (b == null) {
+                return false;
+            }
+            Billboard.BookingRecord record = b.findBooking(request.getStartDate(), request.getEndDate(),
+                    request.getClientName());
+            if (record == null || !b.cancelBooking(record)) {
+                return false;
+            }
+        } else if (!request.getStatus().equals("Waitlisted")) {
+            return false;
+        }
+        request.setStatus("Cancelled");
+        request.setMessage("Cancelled by " + user.getUsername());
+        request.setResolveDate(new Date());
+        return true;
+    }
+
+    /**
+     * Fails the inspection and raises a maintenance request to Billboard
+     * Operations. Returns the organization it was sent to, or null if none
+     * was found or the inspection was already processed.
+     */
+    public static Organization failInspection(ComplianceInspectionRequest request, UserAccount inspector,
+            EcoSystem system) {
+        if (!request.getStatus().equals("Pending")) {
+            return null;
+        }
+        request.setStatus("Failed");
+        request.setResolveDate(new Date());
+        request.setReceiver(inspector);
+
+        MaintenanceRequest maintReq = new MaintenanceRequest();
+        maintReq.setBoardId(request.getBoardId());
+        maintReq.setIssueDescription("Compliance Check Failed: " + request.getInspectionType());
+        maintReq.setUrgencyLevel("High");
+        maintReq.setSender(inspector);
+        maintReq.setStatus("Pending");
+
+        Organization opsOrg = system.getRoutingTable().dispatch(maintReq);
+        if (opsOrg != null) {
+            inspector.getWorkQueue().addWorkRequest(maintReq);
+        }
+        return opsOrg;
+    }
+
+    /**
+     * Completes a field engineer task, resolves the power issue it was
+     * raised for and makes the billboard available again. Returns the
+     * restored billboard, or null if there was none to restore.
+     */
+    public static Billboard completeAssignment(WorkRequest task, UserAccount engineer, Enterprise enterprise,
+            EcoSystem system) {
+        if (task.getStatus().equalsIgnoreCase("Completed")) {
+            return null;
+        }
+        task.setStatus("Completed");
+        if (!(task instanceof FieldEngineerAssignmentRequest)) {
+            return null;
+        }
+        FieldEngineerAssignmentRequest fear = (FieldEngineerAssignmentRequest) task;
+
+        // Sync status to the original PowerIssueRequest. The direct link wins;
+        // without one, the id lookup is only trusted for a power issue on the
+        // assignment's board, since ids from older databases can point at
+        // unrelated requests
+        PowerIssueRequest pReq = fear.getPowerRequest();
+        if (pReq == null && fear.getBoardId() != 0) {
+            WorkRequest linked = system.getRequestRegistry().get(fear.getPowerRequestId());
+            if (linked instanceof PowerIssueRequest
+                    && ((PowerIssueRequest) linked).getBoardId() == fear.getBoardId()) {
+                pReq = (PowerIssueRequest) linked;
+            }
+        }
+        if (pReq == null) {
+            return null;
+        }
+        resolve(pReq, engineer);
+
+        // Restore the billboard in the engineer's network
+        Network network = system.getRoutingTable().getNetwork(enterprise);
+        if (network == null) {
+            return null;
+        }
+        Billboard restored = null;
+        for (Enterprise e : system.getRoutingTable().getEnterprises(network, EnterpriseType.BILLBOARD_OPERATOR)) {
+            if (e instanceof SkyViewBillboardEnterprise) {
+                Billboard b = ((SkyViewBillboardEnterprise) e).getBillboardDirectory()
+                        .getBillboardById(pReq.getBoardId());
+                if (b != null) {
+                    b.setStatus(BillboardStatus.AVAILABLE);
+                    b.setLighted(true);
+                    // Back to BOOKED if a booking is running
+                    b.refreshStatus();
+                    restored = b;
+                }
+            }
+        }
+        return restored;
+    }
+
+    private static void resolve(WorkRequest request, UserAccount engineer) {
+        request.setStatus("Resolved by " + engineer.getEmployee().getName());
+        request.setResolveDate(new Date());
+    }
+}
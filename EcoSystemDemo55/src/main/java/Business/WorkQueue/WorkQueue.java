@@ -1,16 +1,162 @@
 package Business.WorkQueue;
 
+import Business.DB4OUtil.DirtyTracker;
+import Business.DB4OUtil.LazyActivation;
+import Business.Events.ChangeBus;
+import Business.Events.ChangeEvent;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class WorkQueue {
 
     private ArrayList<WorkRequest> workRequestList;
 
+    // Requests partitioned by concrete class, then by status, in the order
+    // they entered each partition. Not persisted; rebuilt on first use.
+    private transient Map<Class<?>, Map<String, Set<WorkRequest>>> partitions;
+    private transient Map<WorkRequest, Integer> arrival; // request -> order added
+    private transient Map<WorkRequest, String> filedUnder; // request -> partition status
+
     public WorkQueue() {
         workRequestList = new ArrayList<>();
     }
 
-    public ArrayList<WorkRequest> getWorkRequestList() {
+    /**
+     * Returns a copy of the requests in the order they were added, safe to
+     * iterate while other threads submit. Add through addWorkRequest.
+     */
+    public synchronized ArrayList<WorkRequest> getWorkRequestList() {
+        return new ArrayList<>(activated());
+    }
+
+    public void addWorkRequest(WorkRequest request) {
+        synchronized (this) {
+            activated().add(request);
+            if (partitions != null) {
+                index(request);
+            }
+        }
+        RequestRegistry.getInstance().register(request);
+        DirtyTracker.markDirty(this);
+        // Outside the monitor: a listener may set statuses, which takes queue
+        // monitors in their own order
+        ChangeBus.getInstance().publish(new ChangeEvent.RequestEnqueued(this, request));
+    }
+
+    /**
+     * Returns the requests of the given type (including subclasses), in the
+     * order they were added.
+     */
+    public synchronized <T extends WorkRequest> List<T> getWorkRequests(Class<T> type) {
+        ensurePartitions();
+        List<T> result = new ArrayList<>();
+        for (Map.Entry<Class<?>, Map<String, Set<WorkRequest>>> entry : partitions.entrySet()) {
+            if (type.isAssignableFrom(entry.getKey())) {
+                for (Set<WorkRequest> requests : entry.getValue().values()) {
+                    for (WorkRequest request : requests) {
+                        result.add(type.cast(request));
+                    }
+                }
+            }
+        }
+        if (result.size() > 1 && partitions.size() > 1) {
+            // Partitions of different classes or statuses interleave in the queue
+            result.sort((a, b) -> Integer.compare(arrival.get(a), arrival.get(b)));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the requests of the given type (including subclasses) whose
+     * status equals the given status.
+     */
+    public synchronized <T extends WorkRequest> List<T> getWorkRequests(Class<T> type, String status) {
+        ensurePartitions();
+        List<T> result = new ArrayList<>();
+        for (Map.Entry<Class<?>, Map<String, Set<WorkRequest>>> entry : partitions.entrySet()) {
+            if (type.isAssignableFrom(entry.getKey())) {
+                for (WorkRequest request : entry.getValue().getOrDefault(status, Collections.emptySet())) {
+                    result.add(type.cast(request));
+                }
+            }
+        }
+        return result;
+    }
+
+    public synchronized int countWorkRequests(Class<? extends WorkRequest> type, String status) {
+        ensurePartitions();
+        int count = 0;
+        for (Map.Entry<Class<?>, Map<String, Set<WorkRequest>>> entry : partitions.entrySet()) {
+            if (type.isAssignableFrom(entry.getKey())) {
+                Set<WorkRequest> requests = entry.getValue().get(status);
+                count += requests == null ? 0 : requests.size();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Called by WorkRequest.setStatus right after it writes the status,
+     * with this queue's monitor and the request's held, so readers never
+     * see the request filed under a status it no longer has.
+     */
+    synchronized void statusChanged(WorkRequest request) {
+        String filed = filedUnder == null ? null : filedUnder.get(request);
+        Map<String, Set<WorkRequest>> byStatus = partitions == null ? null : partitions.get(request.getClass());
+        if (filed == null || byStatus == null) {
+            return;
+        }
+        String status = request.getStatus();
+        Set<WorkRequest> old = byStatus.get(filed);
+        if (old != null && old.remove(request)) {
+            if (old.isEmpty()) {
+                byStatus.remove(filed);
+            }
+            byStatus.computeIfAbsent(status, k -> new LinkedHashSet<>()).add(request);
+            filedUnder.put(request, status);
+        }
+    }
+
+    private ArrayList<WorkRequest> activated() {
+        // Requests plus the lists and linked requests they hold
+        LazyActivation.activate(workRequestList, 4);
         return workRequestList;
     }
+
+    private void ensurePartitions() {
+        if (partitions != null) {
+            return;
+        }
+        partitions = new HashMap<>();
+        arrival = new IdentityHashMap<>();
+        filedUnder = new IdentityHashMap<>();
+        for (WorkRequest request : activated()) {
+            index(request);
+        }
+    }
+
+    private void index(WorkRequest request) {
+        // Attaching returns the status atomically with the attach, so a
+        // concurrent setStatus cannot slip in between and leave it misfiled
+        String status = request.addQueue(this);
+        arrival.putIfAbsent(request, arrival.size());
+        String filed = filedUnder.put(request, status);
+        Map<String, Set<WorkRequest>> byStatus = partitions.computeIfAbsent(request.getClass(),
+                k -> new LinkedHashMap<>());
+        if (filed != null && !filed.equals(status)) {
+            // Added again after a status change; drop the old filing
+            Set<WorkRequest> old = byStatus.get(filed);
+            if (old != null && old.remove(request) && old.isEmpty()) {
+                byStatus.remove(filed);
+            }
+        }
+        byStatus.computeIfAbsent(status, k -> new LinkedHashSet<>()).add(request);
+    }
 }
@@ -1,24 +1,40 @@
 package Business.WorkQueue;
 
+import Business.DB4OUtil.DirtyTracker;
+import Business.Events.ChangeBus;
+import Business.Events.ChangeEvent;
 import Business.UserAccount.UserAccount;
+import Business.Utils.IdAllocator;
+import Business.Utils.IdSequence;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public abstract class WorkRequest {
 
     private UserAccount sender;
     private UserAccount receiver;
-    private String status;
+    private volatile String status;
     private String message;
     private Date requestDate;
     private Date resolveDate;
     private int requestId;
-    private static int count = 1;
+
+    // Queues holding this request, so they can repartition it on status
+    // changes. Not persisted; queues re-register when they rebuild. Only
+    // grows, and only under this request's monitor.
+    private transient volatile CopyOnWriteArrayList<WorkQueue> queues;
+
+    // Taken before the queue monitors when two of them share an identity hash
+    private static final Object TIE_LOCK = new Object();
 
     public WorkRequest() {
         requestDate = new Date();
         status = "Pending";
-        requestId = count;
-        count++;
+        requestId = IdAllocator.nextId(IdSequence.WORK_REQUEST);
     }
 
     // Getters & setters
@@ -32,6 +48,7 @@ public abstract class WorkRequest {
 
     public void setSender(UserAccount sender) {
         this.sender = sender;
+        DirtyTracker.markDirty(this);
     }
 
     public UserAccount getReceiver() {
@@ -40,6 +57,7 @@ public abstract class WorkRequest {
 
     public void setReceiver(UserAccount receiver) {
         this.receiver = receiver;
+        DirtyTracker.markDirty(this);
     }
 
     public String getStatus() {
@@ -47,7 +65,31 @@ public abstract class WorkRequest {
     }
 
     public void setStatus(String status) {
-        this.status = status;
+        // The status is written holding the monitors of every queue this
+        // request is in, then its own, and each queue repartitions it before
+        // they are released. Queues attach under the request's monitor, so a
+        // queue attached after the monitors were chosen forces a retry.
+        String[] replaced = new String[1];
+        while (true) {
+            List<WorkQueue> attached = queues == null ? new ArrayList<>() : new ArrayList<>(queues);
+            attached.sort(Comparator.comparingInt(System::identityHashCode));
+            boolean written;
+            if (hasHashTie(attached)) {
+                synchronized (TIE_LOCK) {
+                    written = writeStatus(attached, 0, status, replaced);
+                }
+            } else {
+                written = writeStatus(attached, 0, status, replaced);
+            }
+            if (written) {
+                break;
+            }
+        }
+        String oldStatus = replaced[0];
+        DirtyTracker.markDirty(this);
+        if (!Objects.equals(oldStatus, status)) {
+            ChangeBus.getInstance().publish(new ChangeEvent.RequestStatusChanged(this, oldStatus, status));
+        }
     }
 
     public String getMessage() {
@@ -56,6 +98,7 @@ public abstract class WorkRequest {
 
     public void setMessage(String message) {
         this.message = message;
+        DirtyTracker.markDirty(this);
     }
 
     public Date getRequestDate() {
@@ -68,6 +111,52 @@ public abstract class WorkRequest {
 
     public void setResolveDate(Date resolveDate) {
         this.resolveDate = resolveDate;
+        DirtyTracker.markDirty(this);
+    }
+
+    // Takes the monitors of the queues from position i on, then this
+    // request's, and writes the status. Returns false, writing nothing, if
+    // a queue was attached since the list was taken.
+    private boolean writeStatus(List<WorkQueue> attached, int i, String status, String[] replaced) {
+        if (i < attached.size()) {
+            synchronized (attached.get(i)) {
+                return writeStatus(attached, i + 1, status, replaced);
+            }
+        }
+        synchronized (this) {
+            if ((queues == null ? 0 : queues.size()) != attached.size()) {
+                return false;
+            }
+            replaced[0] = this.status;
+            this.status = status;
+            for (WorkQueue queue : attached) {
+                queue.statusChanged(this);
+            }
+            return true;
+        }
+    }
+
+    private static boolean hasHashTie(List<WorkQueue> sorted) {
+        for (int i = 1; i < sorted.size(); i++) {
+            if (System.identityHashCode(sorted.get(i - 1)) == System.identityHashCode(sorted.get(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Attaches the queue and returns the status to file the request under.
+     * Called under the queue's monitor; holding this request's monitor
+     * too means a status write either comes before, and is returned here,
+     * or after, and repartitions the queue.
+     */
+    synchronized String addQueue(WorkQueue queue) {
+        if (queues == null) {
+            queues = new CopyOnWriteArrayList<>();
+        }
+        queues.addIfAbsent(queue);
+        return status;
     }
 
     @Override
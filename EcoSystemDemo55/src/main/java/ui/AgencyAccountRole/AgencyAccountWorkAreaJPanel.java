@@ -2,15 +2,14 @@ package ui.AgencyAccountRole;
 
 import Business.EcoSystem;
 import Business.Enterprise.Enterprise;
+import Business.Enterprise.EnterpriseType;
+import Business.Events.ChangeEvent;
 import Business.Enterprise.SkyViewBillboardEnterprise;
-import Business.Network.Network;
 import Business.Organization.AgencyClientServicesOrganization;
-import Business.Organization.BillboardSalesOrganization;
 import Business.Organization.Organization;
 import Business.Role.BrandMarketingManagerRole;
 import Business.UserAccount.UserAccount;
 import Business.WorkQueue.CampaignBookingRequest;
-import Business.WorkQueue.WorkRequest;
 import Business.Billboard.Billboard; // Assuming this exists
 import Business.Billboard.BillboardStatus; // Assuming this exists
 
@@ -18,7 +17,15 @@ import javax.swing.*;
 import javax.swing.border.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import ui.Utils.BackgroundLoader;
+import ui.Utils.ChangeSubscriptions;
+import ui.Utils.ListTableModel;
 
 public class AgencyAccountWorkAreaJPanel extends JPanel {
 
@@ -30,8 +37,11 @@ public class AgencyAccountWorkAreaJPanel extends JPanel {
 
     private JTable clientTable;
     private JTable billboardTable;
+    private ListTableModel<Billboard> billboardModel;
     private JTable bookingTable;
+    private ListTableModel<CampaignBookingRequest> bookingModel;
     private JComboBox<UserAccount> clientComboBox;
+    private final BackgroundLoader loader = new BackgroundLoader();
 
     // Professional color scheme
     private static final Color HEADER_BG = new Color(142, 68, 173); // Purple
@@ -52,6 +62,22 @@ public class AgencyAccountWorkAreaJPanel extends JPanel {
         populateClients();
         populateBillboards();
         populateBookings();
+
+        // Keep the loaded rows current without reloading them
+        new ChangeSubscriptions(this)
+                .on(ChangeEvent.BoardStatusChanged.class, e -> billboardModel.rowChanged(e.getBillboard()))
+                .on(ChangeEvent.RequestStatusChanged.class, e -> {
+                    if (e.getRequest() instanceof CampaignBookingRequest) {
+                        bookingModel.rowChanged((CampaignBookingRequest) e.getRequest());
+                    }
+                })
+                .on(ChangeEvent.RequestEnqueued.class, e -> {
+                    if ((e.getQueue() == organization.getWorkQueue() || e.getQueue() == account.getWorkQueue())
+                            && e.getRequest() instanceof CampaignBookingRequest
+                            && bookingModel.indexOf(e.getRequest()) < 0) {
+                        bookingModel.addRow((CampaignBookingRequest) e.getRequest());
+                    }
+                });
     }
 
     private void initComponents() {
@@ -155,10 +181,13 @@ public class AgencyAccountWorkAreaJPanel extends JPanel {
         tablePanel.setBackground(Color.WHITE);
         tablePanel.setBorder(new TitledBorder("Available Billboards (Select One)"));
 
-        String[] cols = { "ID", "Name/Loc", "Type", "Rate", "Status", "Object" };
-        DefaultTableModel model = new DefaultTableModel(cols, 0);
-        billboardTable = new JTable(model);
-        billboardTable.removeColumn(billboardTable.getColumnModel().getColumn(5)); // Hide Object
+        billboardModel = new ListTableModel<Billboard>()
+                .column("ID", Billboard::getBoardId)
+                .column("Name/Loc", Billboard::getLocation)
+                .column("Type", Billboard::getSize)
+                .column("Rate", Billboard::getPricePerDay)
+                .column("Status", b -> b.getStatus().toString());
+        billboardTable = new JTable(billboardModel);
         styleTable(billboardTable);
 
         tablePanel.add(new JScrollPane(billboardTable), BorderLayout.CENTER);
@@ -182,7 +211,7 @@ public class AgencyAccountWorkAreaJPanel extends JPanel {
             try {
                 // Get Billboard
                 int modelRow = billboardTable.convertRowIndexToModel(selectedRow);
-                Billboard board = (Billboard) model.getValueAt(modelRow, 5);
+                Billboard board = billboardModel.getRow(modelRow);
 
                 double budget = Double.parseDouble(budgetTxt.getText());
                 String campaign = campaignNameTxt.getText();
@@ -204,26 +233,12 @@ public class AgencyAccountWorkAreaJPanel extends JPanel {
                 req.setStatus("Sent to Sales");
                 req.setMessage("New Booking for " + selectedClient.getUsername());
 
-                // Find Sales Org
-                SkyViewBillboardEnterprise skyView = findSkyViewEnterprise();
-                if (skyView == null) {
-                    JOptionPane.showMessageDialog(this, "Error: SkyView Billboard Enterprise not found!");
-                    return;
-                }
-
-                BillboardSalesOrganization salesOrg = null;
-                for (Organization org : skyView.getOrganizationDirectory().getOrganizationList()) {
-                    if (org instanceof BillboardSalesOrganization) {
-                        salesOrg = (BillboardSalesOrganization) org;
-                        break;
-                    }
-                }
+                // Send to Sales Org
+                Organization salesOrg = business.getRoutingTable().dispatch(req);
 
                 if (salesOrg != null) {
-                    salesOrg.getWorkQueue().getWorkRequestList().add(req);
-                    account.getWorkQueue().getWorkRequestList().add(req);
+                    account.getWorkQueue().addWorkRequest(req);
                     JOptionPane.showMessageDialog(this, "Booking Request Sent Successfully!");
-                    populateBookings();
                 } else {
                     JOptionPane.showMessageDialog(this, "Error: Sales Organization not found.");
                 }
@@ -253,10 +268,14 @@ public class AgencyAccountWorkAreaJPanel extends JPanel {
         lbl.setFont(new Font("Segoe UI", Font.BOLD, 18));
         panel.add(lbl, BorderLayout.NORTH);
 
-        String[] cols = { "Request ID", "Client", "Campaign", "Board ID", "Status", "Message", "Object" };
-        DefaultTableModel model = new DefaultTableModel(cols, 0);
-        bookingTable = new JTable(model);
-        bookingTable.removeColumn(bookingTable.getColumnModel().getColumn(6)); // Hide Object
+        bookingModel = new ListTableModel<CampaignBookingRequest>()
+                .column("Request ID", cbr -> "REQ-" + cbr.hashCode())
+                .column("Client", CampaignBookingRequest::getClientName)
+                .column("Campaign", CampaignBookingRequest::getCampaignName)
+                .column("Board ID", CampaignBookingRequest::getBoardId)
+                .column("Status", CampaignBookingRequest::getStatus)
+                .column("Message", CampaignBookingRequest::getMessage);
+        bookingTable = new JTable(bookingModel);
         styleTable(bookingTable);
 
         panel.add(new JScrollPane(bookingTable), BorderLayout.CENTER);
@@ -279,42 +298,29 @@ public class AgencyAccountWorkAreaJPanel extends JPanel {
             return;
         }
 
-        DefaultTableModel model = (DefaultTableModel) bookingTable.getModel();
         int modelRow = bookingTable.convertRowIndexToModel(selectedRow);
-        CampaignBookingRequest req = (CampaignBookingRequest) model.getValueAt(modelRow, 6);
+        CampaignBookingRequest req = bookingModel.getRow(modelRow);
 
         if (!req.getStatus().equals("Sent to Agency")) {
             JOptionPane.showMessageDialog(this, "Can only process requests with status 'Sent to Agency'.");
             return;
         }
 
-        // Forward to Sales
-        SkyViewBillboardEnterprise skyView = findSkyViewEnterprise();
-        if (skyView == null) {
-            JOptionPane.showMessageDialog(this, "Error: SkyView Billboard Enterprise not found!");
-            return;
-        }
-
-        BillboardSalesOrganization salesOrg = null;
-        for (Organization org : skyView.getOrganizationDirectory().getOrganizationList()) {
-            if (org instanceof BillboardSalesOrganization) {
-                salesOrg = (BillboardSalesOrganization) org;
-                break;
-            }
-        }
+        // Forward to Sales, routed from the Agency
+        UserAccount client = req.getSender();
+        req.setSender(account);
+        Organization salesOrg = business.getRoutingTable().dispatch(req);
 
         if (salesOrg != null) {
-            salesOrg.getWorkQueue().getWorkRequestList().add(req);
             // Don't need to add to account work queue again, it's already there or in org
             // queue
             // But we should update status
             req.setStatus("Sent to Sales");
             req.setMessage("Forwarded by " + account.getUsername());
-            req.setSender(account); // Now Agency is the sender to Sales
 
             JOptionPane.showMessageDialog(this, "Request Forwarded to Sales Organization!");
-            populateBookings();
         } else {
+            req.setSender(client);
             JOptionPane.showMessageDialog(this, "Error: Sales Organization not found.");
         }
     }
@@ -336,96 +342,38 @@ public class AgencyAccountWorkAreaJPanel extends JPanel {
     }
 
     private void populateBillboards() {
-        DefaultTableModel model = (DefaultTableModel) billboardTable.getModel();
-        model.setRowCount(0);
-
-        SkyViewBillboardEnterprise skyView = findSkyViewEnterprise();
-        if (skyView != null) {
-            for (Billboard b : skyView.getBillboardDirectory().getBillboards()) {
-                // Show all or only available? Let's show all for selection
-                Object[] row = {
-                        b.getBoardId(),
-                        b.getLocation(),
-                        b.getSize(),
-                        b.getPricePerDay(),
-                        b.getStatus().toString(),
-                        b
-                };
-                model.addRow(row);
-            }
-        }
+        loader.load(billboardTable, () -> {
+            SkyViewBillboardEnterprise skyView = findSkyViewEnterprise();
+            // Show all for selection, not only available boards
+            return skyView != null ? skyView.getBillboardDirectory().getBillboardsSnapshot()
+                    : new ArrayList<Billboard>();
+        }, billboardModel::setRows);
     }
 
     private void populateBookings() {
-        DefaultTableModel model = (DefaultTableModel) bookingTable.getModel();
-        model.setRowCount(0);
-
-        // Show requests from Organization Queue (Incoming from Brand) AND User Queue
-        // (Sent by Agency)
-        // Using a set to avoid duplicates if needed, or just list user's actions.
-        // Actually, we want to see what is assigned to US (or our Org).
-
-        // 1. Organization Queue (Incoming from Brand)
-        for (WorkRequest wr : organization.getWorkQueue().getWorkRequestList()) {
-            if (wr instanceof CampaignBookingRequest) {
-                addToModel(model, (CampaignBookingRequest) wr);
+        loader.load(bookingTable, () -> {
+            // Incoming requests from Brand clients in the organization queue, then
+            // the ones this agent created; a request forwarded by us is in both
+            List<CampaignBookingRequest> bookings = new ArrayList<>();
+            Set<CampaignBookingRequest> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (CampaignBookingRequest cbr : organization.getWorkQueue().getWorkRequests(CampaignBookingRequest.class)) {
+                if (seen.add(cbr)) {
+                    bookings.add(cbr);
+                }
             }
-        }
-
-        // 2. User Account Queue (Created by me)
-        for (WorkRequest wr : account.getWorkQueue().getWorkRequestList()) {
-            if (wr instanceof CampaignBookingRequest) {
-                // Check if already added? Simple logic: if status is "Sent to Agency", it's in
-                // Org queue.
-                // If "Sent to Sales", it might be in Account queue.
-                // For simplicity, let's just add all and rely on the UI to show them.
-                // In production, we'd dedup.
-                addToModel(model, (CampaignBookingRequest) wr);
+            for (CampaignBookingRequest cbr : account.getWorkQueue().getWorkRequests(CampaignBookingRequest.class)) {
+                if (seen.add(cbr)) {
+                    bookings.add(cbr);
+                }
             }
-        }
-    }
-
-    private void addToModel(DefaultTableModel model, CampaignBookingRequest cbr) {
-        // Dedup check
-        for (int i = 0; i < model.getRowCount(); i++) {
-            CampaignBookingRequest existing = (CampaignBookingRequest) model.getValueAt(i, 6);
-            if (existing == cbr)
-                return;
-        }
-
-        model.addRow(new Object[] {
-                "REQ-" + cbr.hashCode(), // Request ID
-                cbr.getClientName(),
-                cbr.getCampaignName(),
-                cbr.getBoardId(),
-                cbr.getStatus(),
-                cbr.getMessage(),
-                cbr // Object
-        });
+            return bookings;
+        }, bookingModel::setRows);
     }
 
     private SkyViewBillboardEnterprise findSkyViewEnterprise() {
-        // Search logically linked networks
-        for (Network n : business.getNetworkList()) {
-            // Check if current enterprise is in this network
-            boolean inNetwork = false;
-            for (Enterprise e : n.getEnterpriseDirectory().getEnterpriseList()) {
-                if (e == enterprise) {
-                    inNetwork = true;
-                    break;
-                }
-            }
-
-            if (inNetwork) {
-                // Look for SkyView in THIS network
-                for (Enterprise e : n.getEnterpriseDirectory().getEnterpriseList()) {
-                    if (e instanceof SkyViewBillboardEnterprise) {
-                        return (SkyViewBillboardEnterprise) e;
-                    }
-                }
-            }
-        }
-        return null; // Not found
+        // Billboard operator in this enterprise's network
+        Enterprise skyView = business.getRoutingTable().getPartner(enterprise, EnterpriseType.BILLBOARD_OPERATOR);
+        return skyView instanceof SkyViewBillboardEnterprise ? (SkyViewBillboardEnterprise) skyView : null;
     }
 
     private JButton createStyledButton(String text, Color bgColor) {
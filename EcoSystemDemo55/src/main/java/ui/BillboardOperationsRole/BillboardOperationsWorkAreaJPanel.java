@@ -6,15 +6,12 @@ import Business.Billboard.MaintenanceRecord;
 import Business.EcoSystem;
 import Business.Enterprise.Enterprise;
 import Business.Enterprise.EnterpriseType;
-import Business.Enterprise.PowerUtilityEnterprise;
 import Business.Enterprise.SkyViewBillboardEnterprise;
-import Business.Network.Network;
 import Business.Organization.Organization;
-import Business.Organization.PowerGridMaintenanceOrganization;
 import Business.UserAccount.UserAccount;
 import Business.WorkQueue.MaintenanceRequest;
 import Business.WorkQueue.PowerIssueRequest;
-import Business.WorkQueue.WorkRequest;
+import ui.Utils.BackgroundLoader;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.table.DefaultTableModel;
@@ -29,6 +26,7 @@ public class BillboardOperationsWorkAreaJPanel extends JPanel {
     private Enterprise enterprise;
     private EcoSystem business;
     private SkyViewBillboardEnterprise skyViewEnterprise;
+    private final BackgroundLoader loader = new BackgroundLoader();
 
     public BillboardOperationsWorkAreaJPanel(JPanel userProcessContainer, UserAccount account,
             Organization organization, Enterprise enterprise,
@@ -82,26 +80,27 @@ public class BillboardOperationsWorkAreaJPanel extends JPanel {
         DefaultTableModel model = new DefaultTableModel(columns, 0);
         JTable table = new JTable(model);
 
-        populateBoardTable(model);
+        populateBoardTable(table);
 
         panel.add(new JScrollPane(table), BorderLayout.CENTER);
 
         JPanel buttonPanel = new JPanel();
         JButton refreshBtn = new JButton("Refresh");
-        refreshBtn.addActionListener(e -> populateBoardTable(model));
+        refreshBtn.addActionListener(e -> populateBoardTable(table));
         buttonPanel.add(refreshBtn);
         panel.add(buttonPanel, BorderLayout.SOUTH);
 
         return panel;
     }
 
-    private void populateBoardTable(DefaultTableModel model) {
-        model.setRowCount(0);
-        if (skyViewEnterprise != null) {
-            for (Billboard b : skyViewEnterprise.getBillboardDirectory().getBillboards()) {
-                model.addRow(new Object[] { b, b.getLocation(), b.getStatus().toString(), b.getDescription() });
+    private void populateBoardTable(JTable table) {
+        loader.loadRows(table, rows -> {
+            if (skyViewEnterprise != null) {
+                for (Billboard b : skyViewEnterprise.getBillboardDirectory().getBillboardsSnapshot()) {
+                    rows.accept(new Object[] { b, b.getLocation(), b.getStatus().toString(), b.getDescription() });
+                }
             }
-        }
+        });
     }
 
     private JPanel createMaintenanceRequestsPanel() {
@@ -113,7 +112,7 @@ public class BillboardOperationsWorkAreaJPanel extends JPanel {
         // Hide the Request Object column
         table.removeColumn(table.getColumnModel().getColumn(4));
 
-        populateRequestTable(model);
+        populateRequestTable(table);
 
         panel.add(new JScrollPane(table), BorderLayout.CENTER);
 
@@ -137,7 +136,7 @@ public class BillboardOperationsWorkAreaJPanel extends JPanel {
                         b.addMaintenanceRecord(record);
                     }
 
-                    populateRequestTable(model);
+                    populateRequestTable(table);
                     JOptionPane.showMessageDialog(this, "Request processed. Billboard set to Maintenance.");
                 } else {
                     JOptionPane.showMessageDialog(this, "Request already completed.");
@@ -165,7 +164,7 @@ public class BillboardOperationsWorkAreaJPanel extends JPanel {
                         }
                     }
 
-                    populateRequestTable(model);
+                    populateRequestTable(table);
                     JOptionPane.showMessageDialog(this, "Maintenance Completed. Billboard Available.");
                 } else {
                     JOptionPane.showMessageDialog(this, "Request must be in Processing state.");
@@ -186,31 +185,14 @@ public class BillboardOperationsWorkAreaJPanel extends JPanel {
                 powerRequest.setBoardId(mRequest.getBoardId());
                 powerRequest.setSeverity("High"); // Default
 
-                // Find Power Utility Enterprise
-                Enterprise powerEnt = findPowerUtilityEnterprise();
-                if (powerEnt != null) {
-                    // Find Organization? Or just send to Enterprise queue?
-                    // Usually sends to specific Organization or Enterprise queue.
-                    // Instructions say "Forward ... to PowerGridCoordinator"
-                    // Assuming PowerGridCoordinator is in an organization in PowerUtilityEnterprise
-
-                    boolean sent = false;
-                    for (Organization org : powerEnt.getOrganizationDirectory().getOrganizationList()) {
-                        if (org instanceof PowerGridMaintenanceOrganization) {
-                            org.getWorkQueue().getWorkRequestList().add(powerRequest);
-                            sent = true;
-                            break;
-                        }
-                    }
+                // Forward to the PowerGridCoordinator's organization in the Power Utility
+                boolean sent = business.getRoutingTable().dispatch(powerRequest) != null;
 
-                    if (sent) {
-                        JOptionPane.showMessageDialog(this, "Power Issue Request Sent to Power Utility.");
-                        account.getWorkQueue().getWorkRequestList().add(powerRequest);
-                    } else {
-                        JOptionPane.showMessageDialog(this, "Power Grid Maintenance Organization not found.");
-                    }
+                if (sent) {
+                    JOptionPane.showMessageDialog(this, "Power Issue Request Sent to Power Utility.");
+                    account.getWorkQueue().addWorkRequest(powerRequest);
                 } else {
-                    JOptionPane.showMessageDialog(this, "Power Utility Enterprise not found.");
+                    JOptionPane.showMessageDialog(this, "Power Grid Maintenance Organization not found.");
                 }
             }
         });
@@ -224,20 +206,18 @@ public class BillboardOperationsWorkAreaJPanel extends JPanel {
         return panel;
     }
 
-    private void populateRequestTable(DefaultTableModel model) {
-        model.setRowCount(0);
-        if (organization != null) {
-            for (WorkRequest request : organization.getWorkQueue().getWorkRequestList()) {
-                if (request instanceof MaintenanceRequest) {
-                    MaintenanceRequest mr = (MaintenanceRequest) request;
-                    model.addRow(new Object[] { mr.getSender() != null ? mr.getSender().getUsername() : "Unknown",
+    private void populateRequestTable(JTable table) {
+        loader.loadRows(table, rows -> {
+            if (organization != null) {
+                for (MaintenanceRequest mr : organization.getWorkQueue().getWorkRequests(MaintenanceRequest.class)) {
+                    rows.accept(new Object[] { mr.getSender() != null ? mr.getSender().getUsername() : "Unknown",
                             mr.getStatus(),
                             mr.getMessage(),
                             mr.getBoardId(),
                             mr });
                 }
             }
-        }
+        });
     }
 
     private Billboard findBillboard(int id) {
@@ -250,15 +230,4 @@ public class BillboardOperationsWorkAreaJPanel extends JPanel {
         }
         return null;
     }
-
-    private Enterprise findPowerUtilityEnterprise() {
-        for (Network n : business.getNetworkList()) {
-            for (Enterprise e : n.getEnterpriseDirectory().getEnterpriseList()) {
-                if (e instanceof PowerUtilityEnterprise) {
-                    return e;
-                }
-            }
-        }
-        return null;
-    }
 }
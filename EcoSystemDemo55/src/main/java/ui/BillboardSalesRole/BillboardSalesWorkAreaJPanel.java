@@ -1,16 +1,28 @@
 package ui.BillboardSalesRole;
 
+import Business.Analytics.BookingColumnStore;
+import Business.Billboard.Billboard;
 import Business.EcoSystem;
 import Business.Enterprise.Enterprise;
+import Business.Events.ChangeEvent;
 import Business.Organization.Organization;
 import Business.UserAccount.UserAccount;
 import Business.WorkQueue.CampaignBookingRequest;
+import Business.WorkQueue.BatchBookingApproval;
 import Business.WorkQueue.BoardSelectionRequest;
+import Business.WorkQueue.MultiBoardReservation;
+import Business.WorkQueue.RequestProcessor;
+import Business.WorkQueue.RequestWorkflow;
 import Business.WorkQueue.WorkRequest;
 import javax.swing.*;
 import javax.swing.border.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import ui.Utils.BackgroundLoader;
+import ui.Utils.ChangeSubscriptions;
+import ui.Utils.ListTableModel;
 
 public class BillboardSalesWorkAreaJPanel extends JPanel {
 
@@ -20,10 +32,13 @@ public class BillboardSalesWorkAreaJPanel extends JPanel {
     private Enterprise enterprise;
     private EcoSystem business;
     private JTable workRequestTable;
-    private DefaultTableModel tableModel;
+    private ListTableModel<WorkRequest> tableModel;
     private JTabbedPane tabbedPane;
     private JTable inventoryTable;
-    private DefaultTableModel inventoryModel;
+    private ListTableModel<Billboard> inventoryModel;
+    private JTable reportTable;
+    private ListTableModel<LocationReport> reportModel;
+    private final BackgroundLoader loader = new BackgroundLoader();
 
     // Professional color scheme
     private static final Color HEADER_BG = new Color(41, 128, 185); // Professional blue
@@ -32,6 +47,8 @@ public class BillboardSalesWorkAreaJPanel extends JPanel {
     private static final Color REJECT_BG = new Color(231, 76, 60); // Red
     private static final Color PANEL_BG = new Color(236, 240, 241); // Light gray
 
+    private static final int REPORT_DAYS = 30;
+
     public BillboardSalesWorkAreaJPanel(JPanel userProcessContainer, UserAccount account,
             Organization organization, Enterprise enterprise,
             EcoSystem business) {
@@ -44,6 +61,20 @@ public class BillboardSalesWorkAreaJPanel extends JPanel {
         initComponents();
         populateWorkRequests();
         populateInventory();
+        populateReport();
+
+        // Keep the loaded rows current without reloading them
+        new ChangeSubscriptions(this)
+                .on(ChangeEvent.BoardStatusChanged.class, e -> inventoryModel.rowChanged(e.getBillboard()))
+                .on(ChangeEvent.RequestStatusChanged.class, e -> tableModel.rowChanged(e.getRequest()))
+                .on(ChangeEvent.RequestEnqueued.class, e -> {
+                    WorkRequest request = e.getRequest();
+                    if (e.getQueue() == organization.getWorkQueue()
+                            && (request instanceof CampaignBookingRequest || request instanceof BoardSelectionRequest)
+                            && tableModel.indexOf(request) < 0) {
+                        tableModel.addRow(request);
+                    }
+                });
     }
 
     private void initComponents() {
@@ -82,6 +113,10 @@ public class BillboardSalesWorkAreaJPanel extends JPanel {
         JPanel requestsPanel = createRequestsPanel();
         tabbedPane.addTab("Work Requests", requestsPanel);
 
+        // Tab 3: Revenue and occupancy
+        JPanel reportPanel = createReportPanel();
+        tabbedPane.addTab("Revenue & Occupancy", reportPanel);
+
         add(tabbedPane, BorderLayout.CENTER);
     }
 
@@ -94,13 +129,13 @@ public class BillboardSalesWorkAreaJPanel extends JPanel {
         lblInventory.setFont(new Font("Segoe UI", Font.BOLD, 16));
         panel.add(lblInventory, BorderLayout.NORTH);
 
-        String[] columnNames = { "ID", "Location", "Type", "Lighted", "Status", "Price/Day" };
-        inventoryModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        inventoryModel = new ListTableModel<Billboard>()
+                .column("ID", Billboard::getBoardId)
+                .column("Location", Billboard::getLocation)
+                .column("Type", Billboard::getType)
+                .column("Lighted", b -> b.isLighted() ? "Yes" : "No")
+                .column("Status", b -> b.getStatus().toString())
+                .column("Price/Day", b -> String.format("$%.2f", b.getPricePerDay()));
 
         inventoryTable = new JTable(inventoryModel);
         styleTable(inventoryTable);
@@ -127,13 +162,23 @@ public class BillboardSalesWorkAreaJPanel extends JPanel {
         lblRequests.setFont(new Font("Segoe UI", Font.BOLD, 16));
         panel.add(lblRequests, BorderLayout.NORTH);
 
-        String[] columnNames = { "Request ID", "Board ID", "Type", "Sender", "Campaign", "Status", "Message" };
-        tableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        // The first column holds the request itself, shown by id through toString()
+        tableModel = new ListTableModel<WorkRequest>()
+                .column("Request ID", request -> request)
+                .column("Board ID", request -> request instanceof CampaignBookingRequest
+                        ? ((CampaignBookingRequest) request).getBoardId()
+                        : ((BoardSelectionRequest) request).getSelectedBoardIds().toString())
+                .column("Type", request -> request instanceof CampaignBookingRequest
+                        ? "Campaign Booking" : "Board Proposal")
+                .column("Sender", request -> request.getSender() != null ? request.getSender().getUsername() : "N/A")
+                .column("Campaign", request -> {
+                    String campaign = request instanceof CampaignBookingRequest
+                            ? ((CampaignBookingRequest) request).getCampaignName()
+                            : ((BoardSelectionRequest) request).getCampaignName();
+                    return campaign != null ? campaign : "N/A";
+                })
+                .column("Status", WorkRequest::getStatus)
+                .column("Message", WorkRequest::getMessage);
 
         workRequestTable = new JTable(tableModel);
         styleTable(workRequestTable);
@@ -145,16 +190,19 @@ public class BillboardSalesWorkAreaJPanel extends JPanel {
         buttonPanel.setBackground(Color.WHITE);
 
         JButton approveButton = createStyledButton("✓ Approve Booking", APPROVE_BG);
+        JButton approveAllButton = createStyledButton("✓ Approve All Pending", APPROVE_BG);
         JButton rejectButton = createStyledButton("✗ Reject Booking", REJECT_BG);
         JButton createPermitButton = createStyledButton("Create Permit Request", BUTTON_BG);
         JButton refreshButton = createStyledButton("Refresh", new Color(149, 165, 166));
 
         approveButton.addActionListener(e -> handleApprove());
+        approveAllButton.addActionListener(e -> handleApproveAll());
         rejectButton.addActionListener(e -> handleReject());
         createPermitButton.addActionListener(e -> handleCreatePermit());
         refreshButton.addActionListener(e -> populateWorkRequests());
 
         buttonPanel.add(approveButton);
+        buttonPanel.add(approveAllButton);
         buttonPanel.add(rejectButton);
         buttonPanel.add(createPermitButton);
         buttonPanel.add(refreshButton);
@@ -164,6 +212,36 @@ public class BillboardSalesWorkAreaJPanel extends JPanel {
         return panel;
     }
 
+    private JPanel createReportPanel() {
+        JPanel panel = new JPanel(new BorderLayout(10, 10));
+        panel.setBackground(Color.WHITE);
+        panel.setBorder(new EmptyBorder(15, 15, 15, 15));
+
+        JLabel lblReport = new JLabel("Booked Revenue and Occupancy, Next " + REPORT_DAYS + " Days");
+        lblReport.setFont(new Font("Segoe UI", Font.BOLD, 16));
+        panel.add(lblReport, BorderLayout.NORTH);
+
+        reportModel = new ListTableModel<LocationReport>()
+                .column("Location", r -> r.location)
+                .column("Booked Revenue", r -> String.format("$%.2f", r.revenue))
+                .column("Occupancy", r -> String.format("%.1f%%", r.occupancy * 100));
+
+        reportTable = new JTable(reportModel);
+        styleTable(reportTable);
+
+        JScrollPane scrollPane = new JScrollPane(reportTable);
+        panel.add(scrollPane, BorderLayout.CENTER);
+
+        JButton refreshButton = createStyledButton("Refresh Report", BUTTON_BG);
+        refreshButton.addActionListener(e -> populateReport());
+        JPanel btnPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        btnPanel.setBackground(Color.WHITE);
+        btnPanel.add(refreshButton);
+        panel.add(btnPanel, BorderLayout.SOUTH);
+
+        return panel;
+    }
+
     private void styleTable(JTable table) {
         table.setFont(new Font("Segoe UI", Font.PLAIN, 13));
         table.setRowHeight(28);
@@ -199,53 +277,60 @@ public class BillboardSalesWorkAreaJPanel extends JPanel {
     }
 
     private void populateInventory() {
-        inventoryModel.setRowCount(0);
         if (enterprise instanceof Business.Enterprise.SkyViewBillboardEnterprise) {
             Business.Enterprise.SkyViewBillboardEnterprise skyView = (Business.Enterprise.SkyViewBillboardEnterprise) enterprise;
-            for (Business.Billboard.Billboard b : skyView.getBillboardDirectory().getBillboards()) {
-                Object[] row = {
-                        b.getBoardId(),
-                        b.getLocation(),
-                        b.getType(),
-                        b.isLighted() ? "Yes" : "No",
-                        b.getStatus().toString(),
-                        String.format("$%.2f", b.getPricePerDay())
-                };
-                inventoryModel.addRow(row);
-            }
+            loader.load(inventoryTable, () -> skyView.getBillboardDirectory().getBillboardsSnapshot(),
+                    inventoryModel::setRows);
+        } else {
+            inventoryModel.setRows(new ArrayList<>());
         }
     }
 
+    // Revenue and occupancy per location over the next REPORT_DAYS days,
+    // from a column snapshot of this operator's bookings
+    private void populateReport() {
+        if (!(enterprise instanceof Business.Enterprise.SkyViewBillboardEnterprise)) {
+            reportModel.setRows(new ArrayList<>());
+            return;
+        }
+        Business.Billboard.BillboardDirectory directory = ((Business.Enterprise.SkyViewBillboardEnterprise) enterprise)
+                .getBillboardDirectory();
+        if (directory == null) {
+            reportModel.setRows(new ArrayList<>());
+            return;
+        }
+        loader.load(reportTable, () -> {
+            BookingColumnStore store = BookingColumnStore.build(List.of(directory));
+            LocalDate from = LocalDate.now();
+            LocalDate to = from.plusDays(REPORT_DAYS - 1);
+            double[] revenue = store.revenueByLocation(from, to);
+            double[] occupancy = store.occupancyByLocation(from, to);
+            List<String> locations = store.getLocations();
+            List<LocationReport> rows = new ArrayList<>();
+            double totalRevenue = 0;
+            for (int l = 0; l < locations.size(); l++) {
+                rows.add(new LocationReport(locations.get(l), revenue[l], occupancy[l]));
+                totalRevenue += revenue[l];
+            }
+            double occupiedDays = 0;
+            for (double share : store.occupancyByDay(from, to)) {
+                occupiedDays += share;
+            }
+            rows.add(new LocationReport("All locations", totalRevenue, occupiedDays / REPORT_DAYS));
+            return rows;
+        }, reportModel::setRows);
+    }
+
     private void populateWorkRequests() {
-        tableModel.setRowCount(0);
-        for (WorkRequest request : organization.getWorkQueue().getWorkRequestList()) {
-            if (request instanceof CampaignBookingRequest) {
-                CampaignBookingRequest cbr = (CampaignBookingRequest) request;
-                Object[] row = {
-                        request, // Store object to retrieve later (now displays ID via toString())
-                        cbr.getBoardId(),
-                        "Campaign Booking",
-                        request.getSender() != null ? request.getSender().getUsername() : "N/A",
-                        cbr.getCampaignName() != null ? cbr.getCampaignName() : "N/A",
-                        request.getStatus(),
-                        request.getMessage()
-                };
-                tableModel.addRow(row);
-            } else if (request instanceof BoardSelectionRequest) {
-                BoardSelectionRequest bsr = (BoardSelectionRequest) request;
-                String boardIds = bsr.getSelectedBoardIds().toString();
-                Object[] row = {
-                        request,
-                        boardIds, // Shows list of IDs e.g. [1, 5]
-                        "Board Proposal",
-                        request.getSender() != null ? request.getSender().getUsername() : "N/A",
-                        bsr.getCampaignName() != null ? bsr.getCampaignName() : "N/A",
-                        request.getStatus(),
-                        request.getMessage()
-                };
-                tableModel.addRow(row);
+        loader.load(workRequestTable, () -> {
+            List<WorkRequest> requests = new ArrayList<>();
+            for (WorkRequest request : organization.getWorkQueue().getWorkRequests(WorkRequest.class)) {
+                if (request instanceof CampaignBookingRequest || request instanceof BoardSelectionRequest) {
+                    requests.add(request);
+                }
             }
-        }
+            return requests;
+        }, tableModel::setRows);
     }
 
     private void handleApprove() {
@@ -264,32 +349,50 @@ public class BillboardSalesWorkAreaJPanel extends JPanel {
 
                 if (enterprise instanceof Business.Enterprise.SkyViewBillboardEnterprise) {
                     Business.Enterprise.SkyViewBillboardEnterprise skyView = (Business.Enterprise.SkyViewBillboardEnterprise) enterprise;
-                    Business.Billboard.Billboard b = skyView.getBillboardDirectory().getBillboardById(cbr.getBoardId());
-
-                    if (b != null) {
-                        // Check Availability
-                        if (b.isAvailableForDates(cbr.getStartDate(), cbr.getEndDate())) {
-                            // Available - Approve
-                            b.setStatus(Business.Billboard.BillboardStatus.BOOKED);
-                            b.addBooking(cbr.getStartDate(), cbr.getEndDate(), cbr.getClientName());
-
-                            request.setStatus("Approved");
-                            request.setResolveDate(new java.util.Date());
-                            JOptionPane.showMessageDialog(this, "Booking Approved & Recorded!");
-                        } else {
-                            // Conflict - Waitlist
-                            b.joinWaitlist(request.getSender(), "Booking Conflict for " + cbr.getClientName());
-
-                            request.setStatus("Waitlisted");
-                            request.setMessage("Board Occupied. Added to Waitlist.");
-                            request.setResolveDate(new java.util.Date());
-
-                            JOptionPane.showMessageDialog(this, "Board is Occupied! Request added to Waitlist.",
-                                    "Waitlisted", JOptionPane.INFORMATION_MESSAGE);
-                        }
-                    }
+
+                    // Availability check and booking run in the background, in order per board
+                    RequestProcessor.getInstance()
+                            .submit(cbr.getBoardId(),
+                                    () -> RequestWorkflow.approveBooking(cbr, skyView.getBillboardDirectory(), account))
+                            .whenCompleteAsync((decision, error) -> {
+                                if (error != null) {
+                                    JOptionPane.showMessageDialog(this, "Could not process booking: "
+                                            + error.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                                } else if (decision == RequestWorkflow.BookingDecision.APPROVED) {
+                                    JOptionPane.showMessageDialog(this, "Booking Approved & Recorded!");
+                                } else if (decision == RequestWorkflow.BookingDecision.WAITLISTED) {
+                                    JOptionPane.showMessageDialog(this, "Board is Occupied! Request added to Waitlist.",
+                                            "Waitlisted", JOptionPane.INFORMATION_MESSAGE);
+                                }
+                            }, SwingUtilities::invokeLater);
+                    return;
                 }
             } else if (request instanceof BoardSelectionRequest) {
+                BoardSelectionRequest bsr = (BoardSelectionRequest) request;
+
+                if (enterprise instanceof Business.Enterprise.SkyViewBillboardEnterprise
+                        && bsr.getStartDate() != null) {
+                    Business.Enterprise.SkyViewBillboardEnterprise skyView = (Business.Enterprise.SkyViewBillboardEnterprise) enterprise;
+                    int key = bsr.getSelectedBoardIds().isEmpty() ? bsr.getRequestId() : bsr.getSelectedBoardIds().get(0);
+
+                    // Book all selected boards or none
+                    RequestProcessor.getInstance()
+                            .submit(key, () -> MultiBoardReservation.reserve(bsr, skyView.getBillboardDirectory(), account))
+                            .whenCompleteAsync((result, error) -> {
+                                if (error != null) {
+                                    JOptionPane.showMessageDialog(this, "Could not reserve boards: "
+                                            + error.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                                } else if (result.isReserved()) {
+                                    JOptionPane.showMessageDialog(this, "Proposal Approved. " + result.getMessage());
+                                } else {
+                                    JOptionPane.showMessageDialog(this, result.getMessage(), "Not Reserved",
+                                            JOptionPane.WARNING_MESSAGE);
+                                }
+                            }, SwingUtilities::invokeLater);
+                    return;
+                }
+
+                // Proposals without campaign dates
                 request.setStatus("Approved");
                 request.setResolveDate(new java.util.Date());
                 JOptionPane.showMessageDialog(this,
@@ -301,15 +404,39 @@ public class BillboardSalesWorkAreaJPanel extends JPanel {
             if (request.getReceiver() == null) {
                 request.setReceiver(account);
             }
-
-            populateWorkRequests();
-            populateInventory();
         } else {
             JOptionPane.showMessageDialog(this, "Please select a request to approve.", "No Selection",
                     JOptionPane.WARNING_MESSAGE);
         }
     }
 
+    private void handleApproveAll() {
+        if (!(enterprise instanceof Business.Enterprise.SkyViewBillboardEnterprise)) {
+            return;
+        }
+        Business.Enterprise.SkyViewBillboardEnterprise skyView = (Business.Enterprise.SkyViewBillboardEnterprise) enterprise;
+
+        List<CampaignBookingRequest> pending = new ArrayList<>(
+                organization.getWorkQueue().getWorkRequests(CampaignBookingRequest.class, "Pending"));
+        pending.addAll(organization.getWorkQueue().getWorkRequests(CampaignBookingRequest.class, "Sent to Sales"));
+        if (pending.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "No pending booking requests.", "Info",
+                    JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        BatchBookingApproval.submit(pending, skyView.getBillboardDirectory(), account, RequestProcessor.getInstance())
+                .whenCompleteAsync((result, error) -> {
+                    if (error != null) {
+                        JOptionPane.showMessageDialog(this, "Could not process bookings: " + error.getMessage(),
+                                "Error", JOptionPane.ERROR_MESSAGE);
+                    } else {
+                        JOptionPane.showMessageDialog(this, "Processed " + result.getTotal() + " bookings: " + result,
+                                "Batch Approval", JOptionPane.INFORMATION_MESSAGE);
+                    }
+                }, SwingUtilities::invokeLater);
+    }
+
     private void handleReject() {
         int selectedRow = workRequestTable.getSelectedRow();
         if (selectedRow >= 0) {
@@ -327,7 +454,6 @@ public class BillboardSalesWorkAreaJPanel extends JPanel {
             request.setStatus("Rejected");
             request.setResolveDate(new java.util.Date());
             JOptionPane.showMessageDialog(this, "Request rejected.", "Rejected", JOptionPane.INFORMATION_MESSAGE);
-            populateWorkRequests();
         } else {
             JOptionPane.showMessageDialog(this, "Please select a request to reject.", "No Selection",
                     JOptionPane.WARNING_MESSAGE);
@@ -341,46 +467,23 @@ public class BillboardSalesWorkAreaJPanel extends JPanel {
             if (request instanceof CampaignBookingRequest) {
                 CampaignBookingRequest cbr = (CampaignBookingRequest) request;
 
-                // Find City Services Enterprise
-                Enterprise cityEnt = null;
-                for (Business.Network.Network network : business.getNetworkList()) {
-                    for (Enterprise ent : network.getEnterpriseDirectory().getEnterpriseList()) {
-                        if (ent.getEnterpriseType() == Business.Enterprise.EnterpriseType.CITY_SERVICES) {
-                            cityEnt = ent;
-                            break;
-                        }
-                    }
-                }
+                Business.WorkQueue.PermitRequest permitReq = new Business.WorkQueue.PermitRequest();
+                permitReq.setSender(account);
+                permitReq.setBoardId(cbr.getBoardId());
+                permitReq.setRequestedBy(enterprise.getName());
+                permitReq.setMessage("Permit requested for Campaign: " + cbr.getCampaignName());
+                permitReq.setStatus("Pending");
 
-                if (cityEnt != null) {
-                    // Find City Permits Organization
-                    Organization permitOrg = null;
-                    for (Organization org : cityEnt.getOrganizationDirectory().getOrganizationList()) {
-                        if (org instanceof Business.Organization.CityPermitsOrganization) {
-                            permitOrg = org;
-                            break;
-                        }
-                    }
+                // Send to City Permits Organization in City Services
+                Organization permitOrg = business.getRoutingTable().dispatch(permitReq);
 
-                    if (permitOrg != null) {
-                        Business.WorkQueue.PermitRequest permitReq = new Business.WorkQueue.PermitRequest();
-                        permitReq.setSender(account);
-                        permitReq.setBoardId(cbr.getBoardId());
-                        permitReq.setRequestedBy(enterprise.getName());
-                        permitReq.setMessage("Permit requested for Campaign: " + cbr.getCampaignName());
-                        permitReq.setStatus("Pending");
+                if (permitOrg != null) {
+                    account.getWorkQueue().addWorkRequest(permitReq);
 
-                        permitOrg.getWorkQueue().getWorkRequestList().add(permitReq);
-                        account.getWorkQueue().getWorkRequestList().add(permitReq);
-
-                        JOptionPane.showMessageDialog(this, "Permit request sent to City Services!", "Success",
-                                JOptionPane.INFORMATION_MESSAGE);
-                    } else {
-                        JOptionPane.showMessageDialog(this, "City Permits Organization not found!", "Error",
-                                JOptionPane.ERROR_MESSAGE);
-                    }
+                    JOptionPane.showMessageDialog(this, "Permit request sent to City Services!", "Success",
+                            JOptionPane.INFORMATION_MESSAGE);
                 } else {
-                    JOptionPane.showMessageDialog(this, "City Services Enterprise not found!", "Error",
+                    JOptionPane.showMessageDialog(this, "City Permits Organization not found!", "Error",
                             JOptionPane.ERROR_MESSAGE);
                 }
             } else {
@@ -393,4 +496,17 @@ public class BillboardSalesWorkAreaJPanel extends JPanel {
                     "No Selection", JOptionPane.WARNING_MESSAGE);
         }
     }
+
+    // One row of the revenue and occupancy report
+    private static class LocationReport {
+        private final String location;
+        private final double revenue;
+        private final double occupancy;
+
+        LocationReport(String location, double revenue, double occupancy) {
+            this.location = location;
+            this.revenue = revenue;
+            this.occupancy = occupancy;
+        }
+    }
 }
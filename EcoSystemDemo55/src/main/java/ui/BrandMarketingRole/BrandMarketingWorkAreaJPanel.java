@@ -2,6 +2,7 @@ package ui.BrandMarketingRole;
 
 import Business.EcoSystem;
 import Business.Enterprise.Enterprise;
+import Business.Events.ChangeEvent;
 import Business.Network.Network;
 import Business.Organization.Organization;
 import Business.UserAccount.UserAccount;
@@ -12,6 +13,9 @@ import javax.swing.border.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.util.ArrayList;
+import ui.Utils.BackgroundLoader;
+import ui.Utils.ChangeSubscriptions;
+import ui.Utils.ListTableModel;
 
 public class BrandMarketingWorkAreaJPanel extends JPanel {
 
@@ -21,9 +25,10 @@ public class BrandMarketingWorkAreaJPanel extends JPanel {
     private Enterprise enterprise;
     private EcoSystem business;
     private JTable billboardTable;
-    private DefaultTableModel billboardModel;
+    private ListTableModel<Billboard> billboardModel;
     private JTable campaignTable;
     private DefaultTableModel campaignModel;
+    private final BackgroundLoader loader = new BackgroundLoader();
 
     // Professional color scheme
     private static final Color HEADER_BG = new Color(211, 84, 0); // Burnt Orange
@@ -43,6 +48,15 @@ public class BrandMarketingWorkAreaJPanel extends JPanel {
         initComponents();
         populateAvailableBillboards();
         populateMyCampaigns();
+
+        // Keep the loaded rows current without reloading them
+        new ChangeSubscriptions(this)
+                .on(ChangeEvent.BoardStatusChanged.class, e -> billboardModel.rowChanged(e.getBillboard()))
+                .on(ChangeEvent.BookingAdded.class, e -> {
+                    if (isMine(e.getBooking())) {
+                        campaignModel.addRow(campaignRow(e.getBillboard(), e.getBooking()));
+                    }
+                });
     }
 
     private void initComponents() {
@@ -100,16 +114,14 @@ public class BrandMarketingWorkAreaJPanel extends JPanel {
         lbl.setFont(new Font("Segoe UI", Font.BOLD, 16));
         panel.add(lbl, BorderLayout.NORTH);
 
-        String[] cols = { "Board ID", "Location", "Type", "Status", "Price/Day", "Object" };
-        billboardModel = new DefaultTableModel(cols, 0) {
-            @Override
-            public boolean isCellEditable(int r, int c) {
-                return false;
-            }
-        };
+        billboardModel = new ListTableModel<Billboard>()
+                .column("Board ID", Billboard::getBoardId)
+                .column("Location", Billboard::getLocation)
+                .column("Type", Billboard::getType)
+                .column("Status", Billboard::getStatus)
+                .column("Price/Day", b -> "$" + b.getPricePerDay());
         billboardTable = new JTable(billboardModel);
         styleTable(billboardTable);
-        billboardTable.removeColumn(billboardTable.getColumnModel().getColumn(5));
 
         panel.add(new JScrollPane(billboardTable), BorderLayout.CENTER);
 
@@ -144,30 +156,27 @@ public class BrandMarketingWorkAreaJPanel extends JPanel {
 
     // Logic
     private void populateAvailableBillboards() {
-        billboardModel.setRowCount(0);
-        for (Network network : business.getNetworkList()) {
-            for (Enterprise ent : network.getEnterpriseDirectory().getEnterpriseList()) {
-                if (ent instanceof Business.Enterprise.SkyViewBillboardEnterprise) {
-                    Business.Enterprise.SkyViewBillboardEnterprise skyView = (Business.Enterprise.SkyViewBillboardEnterprise) ent;
-                    if (skyView.getBillboardDirectory() != null) {
-                        for (Billboard b : skyView.getBillboardDirectory().getBillboards()) {
-                            billboardModel.addRow(new Object[] {
-                                    b.getBoardId(),
-                                    b.getLocation(),
-                                    b.getType(),
-                                    b.getStatus(),
-                                    "$" + b.getPricePerDay(),
-                                    b
-                            });
+        loader.load(billboardTable, () -> {
+            ArrayList<Billboard> boards = new ArrayList<>();
+            for (Network network : business.getNetworkList()) {
+                for (Enterprise ent : network.getEnterpriseDirectory().getEnterpriseList()) {
+                    if (ent instanceof Business.Enterprise.SkyViewBillboardEnterprise) {
+                        Business.Enterprise.SkyViewBillboardEnterprise skyView = (Business.Enterprise.SkyViewBillboardEnterprise) ent;
+                        if (skyView.getBillboardDirectory() != null) {
+                            boards.addAll(skyView.getBillboardDirectory().getBillboardsSnapshot());
                         }
                     }
                 }
             }
-        }
+            return boards;
+        }, billboardModel::setRows);
     }
 
     private void populateMyCampaigns() {
-        campaignModel.setRowCount(0);
+        loader.loadRows(campaignTable, rows -> addMyCampaigns(rows));
+    }
+
+    private void addMyCampaigns(java.util.function.Consumer<Object[]> rows) {
         // In a real app, we'd query the BookingRecords.
         // For now, we iterate all billboards and check if our username matches any
         // booking record client name,
@@ -185,23 +194,10 @@ public class BrandMarketingWorkAreaJPanel extends JPanel {
                 if (ent instanceof Business.Enterprise.SkyViewBillboardEnterprise) {
                     Business.Enterprise.SkyViewBillboardEnterprise skyView = (Business.Enterprise.SkyViewBillboardEnterprise) ent;
                     if (skyView.getBillboardDirectory() != null) {
-                        for (Billboard b : skyView.getBillboardDirectory().getBillboards()) {
-                            for (BookingRecord record : b.getBookingHistory()) {
-                                // Check matching username (standardized) or employee name (legacy support)
-                                boolean match = record.getClientName().equalsIgnoreCase(account.getUsername());
-
-                                if (!match && account.getEmployee() != null) {
-                                    match = record.getClientName().equalsIgnoreCase(account.getEmployee().getName());
-                                }
-
-                                if (match) {
-                                    campaignModel.addRow(new Object[] {
-                                            "Brand Campaign",
-                                            b.getLocation(),
-                                            record.getStartDate(),
-                                            record.getEndDate(),
-                                            "Active"
-                                    });
+                        for (Billboard b : skyView.getBillboardDirectory().getBillboardsSnapshot()) {
+                            for (BookingRecord record : b.getBookingHistorySnapshot()) {
+                                if (isMine(record)) {
+                                    rows.accept(campaignRow(b, record));
                                 }
                             }
                         }
@@ -211,6 +207,26 @@ public class BrandMarketingWorkAreaJPanel extends JPanel {
         }
     }
 
+    private boolean isMine(BookingRecord record) {
+        // Check matching username (standardized) or employee name (legacy support)
+        boolean match = record.getClientName().equalsIgnoreCase(account.getUsername());
+
+        if (!match && account.getEmployee() != null) {
+            match = record.getClientName().equalsIgnoreCase(account.getEmployee().getName());
+        }
+        return match;
+    }
+
+    private static Object[] campaignRow(Billboard b, BookingRecord record) {
+        return new Object[] {
+                "Brand Campaign",
+                b.getLocation(),
+                record.getStartDate(),
+                record.getEndDate(),
+                "Active"
+        };
+    }
+
     private void handleJoinWaitlist() {
         int selectedRow = billboardTable.getSelectedRow();
         if (selectedRow < 0) {
@@ -218,7 +234,7 @@ public class BrandMarketingWorkAreaJPanel extends JPanel {
             return;
         }
 
-        Billboard b = (Billboard) billboardModel.getValueAt(billboardTable.convertRowIndexToModel(selectedRow), 5);
+        Billboard b = billboardModel.getRow(billboardTable.convertRowIndexToModel(selectedRow));
         if (b.getStatus() == Business.Billboard.BillboardStatus.AVAILABLE) {
             int confirm = JOptionPane.showConfirmDialog(this,
                     "This billboard is Available! Do you want to request a booking now?", "Available",
@@ -265,22 +281,13 @@ public class BrandMarketingWorkAreaJPanel extends JPanel {
         req.setStatus("Sent to Agency");
         req.setMessage("Please book this for me.");
 
-        // Find Agency Org
-        boolean sent = false;
-        // Search in same enterprise/network for Agency Org
+        // Send to Agency Org (AccountManagerRole belongs to AgencyClientServicesOrganization)
         // Assuming Brand and Agency in same Enterprise (AdSpark)
-        for (Organization org : enterprise.getOrganizationDirectory().getOrganizationList()) {
-            if (org instanceof Business.Organization.AgencyClientServicesOrganization) { // Account Managers are here?
-                // Actually AccountManagerRole belongs to AgencyClientServicesOrganization
-                // usually
-                org.getWorkQueue().getWorkRequestList().add(req);
-                account.getWorkQueue().getWorkRequestList().add(req);
-                sent = true;
-                break;
-            }
-        }
+        boolean sent = business.getRoutingTable().dispatch(req,
+                Organization.Type.AGENCY_CLIENT_SERVICES) != null;
 
         if (sent) {
+            account.getWorkQueue().addWorkRequest(req);
             JOptionPane.showMessageDialog(this, "Booking Request sent to your Agency Account Manager!");
         } else {
             JOptionPane.showMessageDialog(this, "Error: Agency Organization not found.");
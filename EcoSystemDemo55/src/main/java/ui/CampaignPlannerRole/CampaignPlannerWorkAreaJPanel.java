@@ -2,14 +2,14 @@ package ui.CampaignPlannerRole;
 
 import Business.EcoSystem;
 import Business.Enterprise.Enterprise;
+import Business.Enterprise.EnterpriseType;
 import Business.Enterprise.SkyViewBillboardEnterprise;
-import Business.Network.Network;
-import Business.Organization.BillboardSalesOrganization;
 import Business.Organization.Organization;
 import Business.UserAccount.UserAccount;
 import Business.WorkQueue.BoardSelectionRequest;
-import Business.WorkQueue.WorkRequest;
 import Business.Billboard.Billboard;
+import Business.Billboard.BillboardDirectory;
+import ui.Utils.BackgroundLoader;
 
 import javax.swing.*;
 import javax.swing.border.*;
@@ -17,7 +17,9 @@ import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 public class CampaignPlannerWorkAreaJPanel extends JPanel {
 
@@ -34,6 +36,7 @@ public class CampaignPlannerWorkAreaJPanel extends JPanel {
 
     // Filters
     private JComboBox<String> locationFilter;
+    private final BackgroundLoader loader = new BackgroundLoader();
     private JComboBox<String> typeFilter;
 
     // Professional color scheme
@@ -161,6 +164,10 @@ public class CampaignPlannerWorkAreaJPanel extends JPanel {
 
         planBtn.addActionListener(e -> handleCreatePlan());
 
+        JButton slotsBtn = createStyledButton("🔎 Find Free Slots", new Color(41, 128, 185));
+        slotsBtn.addActionListener(e -> handleFindFreeSlots());
+
+        actionPanel.add(slotsBtn);
         actionPanel.add(planBtn);
         panel.add(actionPanel, BorderLayout.SOUTH);
 
@@ -186,40 +193,39 @@ public class CampaignPlannerWorkAreaJPanel extends JPanel {
     // --- Business Logic ---
 
     private void populateBillboards() {
-        billboardModel.setRowCount(0);
-
-        // Keep selected location if any
-        Object selectedLoc = locationFilter.getSelectedItem();
-
-        locationFilter.removeAllItems();
-        locationFilter.addItem("All Locations");
-        ArrayList<String> locs = new ArrayList<>();
+        // Locations for the filter, collected while the rows load
+        Set<String> locs = new LinkedHashSet<>();
 
-        SkyViewBillboardEnterprise skyView = findSkyViewEnterprise();
-        if (skyView != null) {
-            for (Billboard b : skyView.getBillboardDirectory().getBillboards()) {
-                // Populate Filter
-                String loc = b.getLocation().split(" - ")[0]; // Simplified location
-                if (!locs.contains(loc)) {
-                    locs.add(loc);
-                    locationFilter.addItem(loc);
+        loader.loadRows(billboardTable, rows -> {
+            SkyViewBillboardEnterprise skyView = findSkyViewEnterprise();
+            if (skyView != null) {
+                for (Billboard b : skyView.getBillboardDirectory().getBillboardsSnapshot()) {
+                    locs.add(b.getLocation().split(" - ")[0]); // Simplified location
+
+                    rows.accept(new Object[] {
+                            b.getBoardId(),
+                            b.getLocation(),
+                            b.getType(),
+                            b.getSize(),
+                            b.getPricePerDay(),
+                            false, // Selection box
+                            b
+                    });
                 }
-
-                Object[] row = {
-                        b.getBoardId(),
-                        b.getLocation(),
-                        b.getType(),
-                        b.getSize(),
-                        b.getPricePerDay(),
-                        false, // Selection box
-                        b
-                };
-                billboardModel.addRow(row);
             }
-        }
+        }, () -> {
+            // Keep selected location if any
+            Object selectedLoc = locationFilter.getSelectedItem();
+
+            locationFilter.removeAllItems();
+            locationFilter.addItem("All Locations");
+            for (String loc : locs) {
+                locationFilter.addItem(loc);
+            }
 
-        if (selectedLoc != null)
-            locationFilter.setSelectedItem(selectedLoc);
+            if (selectedLoc != null)
+                locationFilter.setSelectedItem(selectedLoc);
+        });
     }
 
     private void applyFilters() {
@@ -274,26 +280,30 @@ public class CampaignPlannerWorkAreaJPanel extends JPanel {
             req.setStatus("Sent to Sales");
             req.setMessage("Proposal for " + selectedBoards.size() + " billboards");
 
+            String daysStr = JOptionPane.showInputDialog(this, "Campaign length (days):", "30");
+            if (daysStr == null) {
+                return; // Cancelled
+            }
+            int days;
+            try {
+                days = Integer.parseInt(daysStr.trim());
+            } catch (NumberFormatException ex) {
+                days = 30;
+            }
+            java.util.Calendar cal = java.util.Calendar.getInstance();
+            req.setStartDate(cal.getTime()); // Demo: Start Now
+            cal.add(java.util.Calendar.DAY_OF_MONTH, Math.max(1, days));
+            req.setEndDate(cal.getTime());
+
             for (Billboard b : selectedBoards) {
                 req.addBoardId(b.getBoardId());
             }
 
             // Send to Sales Org
-            SkyViewBillboardEnterprise skyView = findSkyViewEnterprise();
-            if (skyView == null)
-                return;
-
-            BillboardSalesOrganization salesOrg = null;
-            for (Organization org : skyView.getOrganizationDirectory().getOrganizationList()) {
-                if (org instanceof BillboardSalesOrganization) {
-                    salesOrg = (BillboardSalesOrganization) org;
-                    break;
-                }
-            }
+            Organization salesOrg = business.getRoutingTable().dispatch(req);
 
             if (salesOrg != null) {
-                salesOrg.getWorkQueue().getWorkRequestList().add(req);
-                account.getWorkQueue().getWorkRequestList().add(req);
+                account.getWorkQueue().addWorkRequest(req);
                 JOptionPane.showMessageDialog(this, "Plan sent to Billboard Sales!");
                 // Clear selection
                 for (int i = 0; i < billboardModel.getRowCount(); i++)
@@ -305,20 +315,68 @@ public class CampaignPlannerWorkAreaJPanel extends JPanel {
         }
     }
 
-    private void populateRequests() {
-        DefaultTableModel model = (DefaultTableModel) requestTable.getModel();
-        model.setRowCount(0);
+    private void handleFindFreeSlots() {
+        SkyViewBillboardEnterprise skyView = findSkyViewEnterprise();
+        if (skyView == null) {
+            JOptionPane.showMessageDialog(this, "No billboard operator found in this network.");
+            return;
+        }
+        String daysStr = JOptionPane.showInputDialog(this, "Campaign length (days):", "30");
+        if (daysStr == null) {
+            return;
+        }
+        int days;
+        try {
+            days = Math.max(1, Integer.parseInt(daysStr.trim()));
+        } catch (NumberFormatException ex) {
+            days = 30;
+        }
+
+        String loc = (String) locationFilter.getSelectedItem();
+        String type = (String) typeFilter.getSelectedItem();
+        java.util.Calendar cal = java.util.Calendar.getInstance();
+        java.util.Date from = cal.getTime();
+        cal.add(java.util.Calendar.YEAR, 1); // Search the next year
+        List<BillboardDirectory.FreeSlot> slots = skyView.getBillboardDirectory().findEarliestFreeSlots(days,
+                loc == null || loc.equals("All Locations") ? null : loc,
+                type == null || type.equals("All Types") ? null : type,
+                from, cal.getTime(), 10);
+        if (slots.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "No board is free for " + days + " days within the next year.");
+            return;
+        }
 
-        for (WorkRequest wr : account.getWorkQueue().getWorkRequestList()) {
-            if (wr instanceof BoardSelectionRequest) {
-                BoardSelectionRequest bsr = (BoardSelectionRequest) wr;
+        java.text.SimpleDateFormat fmt = new java.text.SimpleDateFormat("yyyy-MM-dd");
+        StringBuilder sb = new StringBuilder("Earliest free windows of " + days + " days:\n\n");
+        for (BillboardDirectory.FreeSlot slot : slots) {
+            sb.append(slot.getBillboard()).append(": ")
+                    .append(fmt.format(slot.getStartDate())).append(" to ")
+                    .append(fmt.format(slot.getEndDate())).append("\n");
+        }
+        sb.append("\nSelect these boards?");
+        int confirm = JOptionPane.showConfirmDialog(this, sb.toString(), "Free Slots", JOptionPane.YES_NO_OPTION);
+        if (confirm == JOptionPane.YES_OPTION) {
+            for (int i = 0; i < billboardModel.getRowCount(); i++) {
+                Billboard b = (Billboard) billboardModel.getValueAt(i, 6);
+                for (BillboardDirectory.FreeSlot slot : slots) {
+                    if (slot.getBillboard() == b) {
+                        billboardModel.setValueAt(true, i, 5);
+                    }
+                }
+            }
+        }
+    }
+
+    private void populateRequests() {
+        loader.loadRows(requestTable, rows -> {
+            for (BoardSelectionRequest bsr : account.getWorkQueue().getWorkRequests(BoardSelectionRequest.class)) {
 
                 String receiver = "Billboard Sales (Queue)";
                 if (bsr.getReceiver() != null) {
                     receiver = bsr.getReceiver().getUsername();
                 }
 
-                model.addRow(new Object[] {
+                rows.accept(new Object[] {
                         "REQ-" + bsr.getRequestId(),
                         bsr.getCampaignName(),
                         bsr.getSelectedBoardIds().size(),
@@ -326,27 +384,13 @@ public class CampaignPlannerWorkAreaJPanel extends JPanel {
                         receiver
                 });
             }
-        }
+        });
     }
 
     private SkyViewBillboardEnterprise findSkyViewEnterprise() {
-        for (Network n : business.getNetworkList()) {
-            boolean inNetwork = false;
-            for (Enterprise e : n.getEnterpriseDirectory().getEnterpriseList()) {
-                if (e == enterprise) {
-                    inNetwork = true;
-                    break;
-                }
-            }
-            if (inNetwork) {
-                for (Enterprise e : n.getEnterpriseDirectory().getEnterpriseList()) {
-                    if (e instanceof SkyViewBillboardEnterprise) {
-                        return (SkyViewBillboardEnterprise) e;
-                    }
-                }
-            }
-        }
-        return null;
+        // Billboard operator in this enterprise's network
+        Enterprise skyView = business.getRoutingTable().getPartner(enterprise, EnterpriseType.BILLBOARD_OPERATOR);
+        return skyView instanceof SkyViewBillboardEnterprise ? (SkyViewBillboardEnterprise) skyView : null;
     }
 
     // --- Styles ---
@@ -5,7 +5,8 @@ import Business.Enterprise.Enterprise;
 import Business.Organization.Organization;
 import Business.UserAccount.UserAccount;
 import Business.WorkQueue.PermitRequest;
-import Business.WorkQueue.WorkRequest;
+import Business.WorkQueue.WorkQueue;
+import ui.Utils.BackgroundLoader;
 import javax.swing.*;
 import javax.swing.border.*;
 import javax.swing.table.DefaultTableModel;
@@ -22,6 +23,7 @@ public class CityPermitWorkAreaJPanel extends JPanel {
     private DefaultTableModel permitModel;
     private JTable historyTable;
     private DefaultTableModel historyModel;
+    private final BackgroundLoader loader = new BackgroundLoader();
 
     // Professional color scheme
     private static final Color HEADER_BG = new Color(52, 73, 94); // Dark Blue-Grey
@@ -131,23 +133,23 @@ public class CityPermitWorkAreaJPanel extends JPanel {
     }
 
     private void populatePermits() {
-        permitModel.setRowCount(0);
-        historyModel.setRowCount(0);
-
-        for (WorkRequest wr : organization.getWorkQueue().getWorkRequestList()) {
-            if (wr instanceof PermitRequest) {
-                PermitRequest pr = (PermitRequest) wr;
+        WorkQueue queue = organization.getWorkQueue();
+        loader.loadRows(permitTable, rows -> {
+            for (PermitRequest pr : queue.getWorkRequests(PermitRequest.class, "Pending")) {
+                rows.accept(new Object[] {
+                        pr, // Store object
+                        pr.getBoardId(),
+                        pr.getRequestedBy(),
+                        pr.getMessage(),
+                        pr.getStatus()
+                });
+            }
+        });
 
-                if (pr.getStatus().equals("Pending")) {
-                    permitModel.addRow(new Object[] {
-                            pr, // Store object
-                            pr.getBoardId(),
-                            pr.getRequestedBy(),
-                            pr.getMessage(),
-                            pr.getStatus()
-                    });
-                } else {
-                    historyModel.addRow(new Object[] {
+        loader.loadRows(historyTable, rows -> {
+            for (PermitRequest pr : queue.getWorkRequests(PermitRequest.class)) {
+                if (!pr.getStatus().equals("Pending")) {
+                    rows.accept(new Object[] {
                             pr.getRequestId(),
                             pr.getBoardId(),
                             pr.getRequestedBy(),
@@ -157,7 +159,7 @@ public class CityPermitWorkAreaJPanel extends JPanel {
                     });
                 }
             }
-        }
+        });
     }
 
     private void handleProcess(String decision) {
@@ -5,7 +5,10 @@ import Business.Enterprise.Enterprise;
 import Business.Organization.Organization;
 import Business.UserAccount.UserAccount;
 import Business.WorkQueue.ComplianceInspectionRequest;
+import Business.WorkQueue.RequestProcessor;
+import Business.WorkQueue.RequestWorkflow;
 import Business.WorkQueue.WorkRequest;
+import ui.Utils.BackgroundLoader;
 import javax.swing.*;
 import javax.swing.border.*;
 import javax.swing.table.DefaultTableModel;
@@ -20,6 +23,7 @@ public class ComplianceInspectorWorkAreaJPanel extends JPanel {
     private EcoSystem business;
     private JTable inspectionTable;
     private DefaultTableModel tableModel;
+    private final BackgroundLoader loader = new BackgroundLoader();
 
     // Professional color scheme
     private static final Color HEADER_BG = new Color(192, 57, 43); // Dark Red
@@ -191,44 +195,22 @@ public class ComplianceInspectorWorkAreaJPanel extends JPanel {
 
             ComplianceInspectionRequest cir = (ComplianceInspectionRequest) request;
 
-            request.setStatus("Failed");
-            request.setResolveDate(new java.util.Date());
-            request.setReceiver(account);
-
-            // Raise Maintenance Request
-            Business.WorkQueue.MaintenanceRequest maintReq = new Business.WorkQueue.MaintenanceRequest();
-            maintReq.setBoardId(cir.getBoardId());
-            maintReq.setIssueDescription("Compliance Check Failed: " + cir.getInspectionType());
-            maintReq.setUrgencyLevel("High");
-            maintReq.setSender(account);
-            maintReq.setStatus("Pending");
-
-            // Find Billboard Ops Org
-            Organization opsOrg = null;
-            // Iterate networks/enterprises to find BillboardOps
-            for (Business.Network.Network network : business.getNetworkList()) {
-                for (Enterprise ent : network.getEnterpriseDirectory().getEnterpriseList()) {
-                    // specific check or just iterate orgs
-                    for (Organization org : ent.getOrganizationDirectory().getOrganizationList()) {
-                        if (org instanceof Business.Organization.BillboardOperationsOrganization) {
-                            opsOrg = org;
-                            break;
+            // Fail and raise the Maintenance Request in the background
+            RequestProcessor.getInstance()
+                    .submit(cir.getBoardId(), () -> RequestWorkflow.failInspection(cir, account, business))
+                    .whenCompleteAsync((opsOrg, error) -> {
+                        if (opsOrg != null) {
+                            JOptionPane.showMessageDialog(this, "Failed. Maintenance Request raised to Ops!",
+                                    "Failure Processed", JOptionPane.WARNING_MESSAGE);
+                        } else if (error != null) {
+                            JOptionPane.showMessageDialog(this, "Could not process inspection: " + error.getMessage(),
+                                    "Error", JOptionPane.ERROR_MESSAGE);
+                        } else if (cir.getStatus().equals("Failed")) {
+                            JOptionPane.showMessageDialog(this, "Failed, but could not find Billboard Ops Organization!",
+                                    "Error", JOptionPane.ERROR_MESSAGE);
                         }
-                    }
-                }
-            }
-
-            if (opsOrg != null) {
-                opsOrg.getWorkQueue().getWorkRequestList().add(maintReq);
-                account.getWorkQueue().getWorkRequestList().add(maintReq);
-                JOptionPane.showMessageDialog(this, "Failed. Maintenance Request raised to Ops!", "Failure Processed",
-                        JOptionPane.WARNING_MESSAGE);
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed, but could not find Billboard Ops Organization!", "Error",
-                        JOptionPane.ERROR_MESSAGE);
-            }
-
-            populateInspections();
+                        populateInspections();
+                    }, SwingUtilities::invokeLater);
         } else {
             JOptionPane.showMessageDialog(this, "Please select an inspection.", "No Selection",
                     JOptionPane.WARNING_MESSAGE);
@@ -241,19 +223,16 @@ public class ComplianceInspectorWorkAreaJPanel extends JPanel {
     }
 
     private void populateInspections() {
-        tableModel.setRowCount(0);
-
-        for (WorkRequest request : organization.getWorkQueue().getWorkRequestList()) {
-            if (request instanceof ComplianceInspectionRequest) {
-                ComplianceInspectionRequest cir = (ComplianceInspectionRequest) request;
+        loader.loadRows(inspectionTable, rows -> {
+            for (ComplianceInspectionRequest cir : organization.getWorkQueue().getWorkRequests(ComplianceInspectionRequest.class)) {
                 Object[] row = {
                         cir, // Store object
                         cir.getBoardId(),
                         cir.getInspectionType() != null ? cir.getInspectionType() : "General",
-                        request.getStatus()
+                        cir.getStatus()
                 };
-                tableModel.addRow(row);
+                rows.accept(row);
             }
-        }
+        });
     }
 }
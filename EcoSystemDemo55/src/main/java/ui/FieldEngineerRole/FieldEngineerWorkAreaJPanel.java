@@ -5,7 +5,10 @@ import Business.Enterprise.Enterprise;
 import Business.Organization.Organization;
 import Business.UserAccount.UserAccount;
 import Business.WorkQueue.FieldEngineerAssignmentRequest;
+import Business.WorkQueue.RequestProcessor;
+import Business.WorkQueue.RequestWorkflow;
 import Business.WorkQueue.WorkRequest;
+import ui.Utils.BackgroundLoader;
 import javax.swing.*;
 import javax.swing.border.*;
 import javax.swing.table.DefaultTableModel;
@@ -20,6 +23,7 @@ public class FieldEngineerWorkAreaJPanel extends JPanel {
     private EcoSystem business;
     private JTable taskTable;
     private DefaultTableModel tableModel;
+    private final BackgroundLoader loader = new BackgroundLoader();
 
     // Professional color scheme
     private static final Color HEADER_BG = new Color(52, 73, 94); // Dark Blue-Gray
@@ -170,96 +174,44 @@ public class FieldEngineerWorkAreaJPanel extends JPanel {
                 return;
             }
 
-            request.setStatus("Completed");
-
-            // Status Synchronization
-            if (request instanceof FieldEngineerAssignmentRequest) {
-                FieldEngineerAssignmentRequest fear = (FieldEngineerAssignmentRequest) request;
-
-                // Sync status to the original PowerIssueRequest
-                boolean originalRequestFound = false;
-                Business.WorkQueue.PowerIssueRequest pReq = fear.getPowerRequest(); // Might be null if not directly
-                                                                                    // linked
-
-                // 1. Try to find via ID in the Enterprise Queues (Robust)
-                if (enterprise != null) {
-                    for (Organization org : enterprise.getOrganizationDirectory().getOrganizationList()) {
-                        for (WorkRequest r : org.getWorkQueue().getWorkRequestList()) {
-                            if (r.getRequestId() == fear.getPowerRequestId()) {
-                                r.setStatus("Resolved by " + account.getEmployee().getName());
-                                r.setResolveDate(new java.util.Date());
-                                if (r instanceof Business.WorkQueue.PowerIssueRequest) {
-                                    pReq = (Business.WorkQueue.PowerIssueRequest) r;
-                                }
-                                originalRequestFound = true;
-                                break;
+            // Status Synchronization with the PowerIssueRequest and Billboard runs in the background
+            int boardKey = request instanceof FieldEngineerAssignmentRequest
+                    && ((FieldEngineerAssignmentRequest) request).getPowerRequest() != null
+                            ? ((FieldEngineerAssignmentRequest) request).getPowerRequest().getBoardId()
+                            : request.getRequestId();
+            RequestProcessor.getInstance()
+                    .submit(boardKey, () -> RequestWorkflow.completeAssignment(request, account, enterprise, business))
+                    .whenCompleteAsync((restored, error) -> {
+                        if (error != null) {
+                            JOptionPane.showMessageDialog(this, "Could not complete task: " + error.getMessage(),
+                                    "Error", JOptionPane.ERROR_MESSAGE);
+                        } else {
+                            if (restored != null) {
+                                JOptionPane.showMessageDialog(this, "System Update: Billboard " + restored.getBoardId()
+                                        + " status restored to AVAILABLE.");
                             }
+                            JOptionPane.showMessageDialog(this, "✓ Task completed!", "Success",
+                                    JOptionPane.INFORMATION_MESSAGE);
                         }
-                        if (originalRequestFound)
-                            break;
-                    }
-                }
-
-                // 2. If not found via ID, check direct link
-                if (!originalRequestFound && pReq != null) {
-                    pReq.setStatus("Resolved by " + account.getEmployee().getName());
-                    pReq.setResolveDate(new java.util.Date());
-                    originalRequestFound = true;
-                }
-
-                // 3. Restore Billboard Status if we have the PowerRequest
-                if (originalRequestFound && pReq != null) {
-                    // Find Billboard in SkyView Enterprise
-                    Business.Network.Network myNetwork = null;
-                    for (Business.Network.Network n : business.getNetworkList()) {
-                        for (Enterprise e : n.getEnterpriseDirectory().getEnterpriseList()) {
-                            if (e == enterprise) {
-                                myNetwork = n;
-                                break;
-                            }
-                        }
-                    }
-
-                    if (myNetwork != null) {
-                        for (Enterprise e : myNetwork.getEnterpriseDirectory().getEnterpriseList()) {
-                            if (e instanceof Business.Enterprise.SkyViewBillboardEnterprise) {
-                                Business.Enterprise.SkyViewBillboardEnterprise skyView = (Business.Enterprise.SkyViewBillboardEnterprise) e;
-                                Business.Billboard.Billboard b = skyView.getBillboardDirectory()
-                                        .getBillboardById(pReq.getBoardId());
-                                if (b != null) {
-                                    b.setStatus(Business.Billboard.BillboardStatus.AVAILABLE);
-                                    b.setLighted(true);
-                                    JOptionPane.showMessageDialog(this, "System Update: Billboard " + b.getBoardId()
-                                            + " status restored to AVAILABLE.");
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-
-            JOptionPane.showMessageDialog(this, "✓ Task completed!", "Success", JOptionPane.INFORMATION_MESSAGE);
-            populateTasks();
+                        populateTasks();
+                    }, SwingUtilities::invokeLater);
         } else {
             JOptionPane.showMessageDialog(this, "Please select a task.", "No Selection", JOptionPane.WARNING_MESSAGE);
         }
     }
 
     private void populateTasks() {
-        tableModel.setRowCount(0);
-
-        for (WorkRequest request : organization.getWorkQueue().getWorkRequestList()) {
-            if (request instanceof FieldEngineerAssignmentRequest) {
-                FieldEngineerAssignmentRequest fear = (FieldEngineerAssignmentRequest) request;
+        loader.loadRows(taskTable, rows -> {
+            for (FieldEngineerAssignmentRequest fear : organization.getWorkQueue().getWorkRequests(FieldEngineerAssignmentRequest.class)) {
                 Object[] row = {
-                        "TASK-" + System.identityHashCode(request),
+                        "TASK-" + System.identityHashCode(fear),
                         fear.getEngineerId(),
                         fear.getTaskDescription() != null ? fear.getTaskDescription() : "Maintenance Task",
-                        request.getStatus(),
-                        request // Store object
+                        fear.getStatus(),
+                        fear // Store object
                 };
-                tableModel.addRow(row);
+                rows.accept(row);
             }
-        }
+        });
     }
 }
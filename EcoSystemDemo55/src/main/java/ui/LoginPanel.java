@@ -2,8 +2,8 @@ package ui;
 
 import Business.EcoSystem;
 import Business.Enterprise.Enterprise;
-import Business.Network.Network;
 import Business.Organization.Organization;
+import Business.UserAccount.LoginIndex;
 import Business.UserAccount.UserAccount;
 import javax.swing.*;
 import javax.swing.border.*;
@@ -168,6 +168,9 @@ public class LoginPanel extends JPanel {
     }
 
     private void handleLogin() {
+        if (!loginButton.isEnabled()) {
+            return; // Saving after a logout
+        }
         String userName = usernameField.getText();
         String password = String.valueOf(passwordField.getPassword());
 
@@ -179,41 +182,12 @@ public class LoginPanel extends JPanel {
             return;
         }
 
-        // Step 1: Check system admin user account directory
-        UserAccount userAccount = system.getUserAccountDirectory().authenticateUser(userName, password);
+        // Single lookup in the system-wide login index
+        LoginIndex.Entry login = system.getLoginIndex().authenticate(userName, password);
 
-        Enterprise inEnterprise = null;
-        Organization inOrganization = null;
-
-        if (userAccount == null) {
-            // Step 2: Go inside each network and check each enterprise
-            for (Network network : system.getNetworkList()) {
-                // Step 2.a: check against each enterprise
-                for (Enterprise enterprise : network.getEnterpriseDirectory().getEnterpriseList()) {
-                    userAccount = enterprise.getUserAccountDirectory().authenticateUser(userName, password);
-                    if (userAccount == null) {
-                        // Step 3: check against each organization for each enterprise
-                        for (Organization organization : enterprise.getOrganizationDirectory().getOrganizationList()) {
-                            userAccount = organization.getUserAccountDirectory().authenticateUser(userName, password);
-                            if (userAccount != null) {
-                                inEnterprise = enterprise;
-                                inOrganization = organization;
-                                break;
-                            }
-                        }
-                    } else {
-                        inEnterprise = enterprise;
-                        break;
-                    }
-                    if (inOrganization != null) {
-                        break;
-                    }
-                }
-                if (inEnterprise != null) {
-                    break;
-                }
-            }
-        }
+        UserAccount userAccount = login != null ? login.getUserAccount() : null;
+        Enterprise inEnterprise = login != null ? login.getEnterprise() : null;
+        Organization inOrganization = login != null ? login.getOrganization() : null;
 
         if (userAccount == null) {
             JOptionPane.showMessageDialog(this,
@@ -247,4 +221,14 @@ public class LoginPanel extends JPanel {
         usernameField.setText("");
         passwordField.setText("");
     }
+
+    /**
+     * Enables or disables signing in, for example while the system is
+     * being saved after a logout.
+     */
+    public void setLoginEnabled(boolean enabled) {
+        usernameField.setEnabled(enabled);
+        passwordField.setEnabled(enabled);
+        loginButton.setEnabled(enabled);
+    }
 }
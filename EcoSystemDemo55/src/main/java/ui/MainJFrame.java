@@ -7,12 +7,21 @@ package ui;
 import Business.EcoSystem;
 import Business.DB4OUtil.DB4OUtil;
 import Business.Enterprise.Enterprise;
-import Business.Network.Network;
 import Business.Organization.Organization;
+import Business.UserAccount.LoginIndex;
 import Business.UserAccount.UserAccount;
+import Business.WorkQueue.RequestProcessor;
 import java.awt.CardLayout;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.SwingConstants;
+import javax.swing.SwingWorker;
+import ui.Utils.BackgroundLoader;
 
 /**
  *
@@ -26,16 +35,24 @@ public class MainJFrame extends javax.swing.JFrame {
     private EcoSystem system;
     private DB4OUtil dB4OUtil = DB4OUtil.getInstance();
     private LoginPanel loginPanel;
+    private final BackgroundLoader loader = new BackgroundLoader();
 
     public MainJFrame() {
         initComponents();
-        system = dB4OUtil.retrieveSystem();
         this.setSize(1680, 1050);
 
-        // Replace the old login panel with the new professional one
-        loginPanel = new LoginPanel(system, container, logoutJButton);
-        jSplitPane1.setLeftComponent(loginPanel);
+        // Open the database off the event thread; the login panel replaces
+        // the placeholder once the system is loaded
+        JLabel loadingLabel = new JLabel("Loading...", SwingConstants.CENTER);
+        jSplitPane1.setLeftComponent(loadingLabel);
         jSplitPane1.setDividerLocation(300);
+        loader.load(loadingLabel, () -> dB4OUtil.retrieveSystem(), loaded -> {
+            system = loaded;
+            // Replace the old login panel with the new professional one
+            loginPanel = new LoginPanel(system, container, logoutJButton);
+            jSplitPane1.setLeftComponent(loginPanel);
+            jSplitPane1.setDividerLocation(300);
+        });
     }
 
     /**
@@ -143,42 +160,12 @@ public class MainJFrame extends javax.swing.JFrame {
         char[] passwordCharArray = passwordField.getPassword();
         String password = String.valueOf(passwordCharArray);
 
-        // Step1: Check in the system admin user account directory if you have the user
-        UserAccount userAccount = system.getUserAccountDirectory().authenticateUser(userName, password);
+        // Single lookup in the system-wide login index
+        LoginIndex.Entry login = system.getLoginIndex().authenticate(userName, password);
 
-        Enterprise inEnterprise = null;
-        Organization inOrganization = null;
-
-        if (userAccount == null) {
-            // Step 2: Go inside each network and check each enterprise
-            for (Network network : system.getNetworkList()) {
-                // Step 2.a: check against each enterprise
-                for (Enterprise enterprise : network.getEnterpriseDirectory().getEnterpriseList()) {
-                    userAccount = enterprise.getUserAccountDirectory().authenticateUser(userName, password);
-                    if (userAccount == null) {
-                        // Step 3:check against each organization for each enterprise
-                        for (Organization organization : enterprise.getOrganizationDirectory().getOrganizationList()) {
-                            userAccount = organization.getUserAccountDirectory().authenticateUser(userName, password);
-                            if (userAccount != null) {
-                                inEnterprise = enterprise;
-                                inOrganization = organization;
-                                break;
-                            }
-                        }
-
-                    } else {
-                        inEnterprise = enterprise;
-                        break;
-                    }
-                    if (inOrganization != null) {
-                        break;
-                    }
-                }
-                if (inEnterprise != null) {
-                    break;
-                }
-            }
-        }
+        UserAccount userAccount = login != null ? login.getUserAccount() : null;
+        Enterprise inEnterprise = login != null ? login.getEnterprise() : null;
+        Organization inOrganization = login != null ? login.getOrganization() : null;
 
         if (userAccount == null) {
             JOptionPane.showMessageDialog(null, "Invalid credentials");
@@ -205,9 +192,10 @@ public class MainJFrame extends javax.swing.JFrame {
         userNameJTextField.setText("");
         passwordField.setText("");
 
-        // Reset the login panel
+        // Reset the login panel; signing in stays off until the system is saved
         if (loginPanel != null) {
             loginPanel.reset();
+            loginPanel.setLoginEnabled(false);
         }
 
         container.removeAll();
@@ -215,9 +203,46 @@ public class MainJFrame extends javax.swing.JFrame {
         container.add("blank", blankJP);
         CardLayout crdLyt = (CardLayout) container.getLayout();
         crdLyt.next(container);
-        dB4OUtil.storeSystem(system);
+        saveWhenIdle();
     }// GEN-LAST:event_logoutJButtonActionPerformed
 
+    // Gives queued request processing a chance to finish, then saves off the
+    // event thread. storeSystem pauses the request workers and the status
+    // sweeper while it writes, so the save is consistent either way; work
+    // still queued after the wait is stored by DB4OUtil at shutdown.
+    private void saveWhenIdle() {
+        new SwingWorker<Boolean, Void>() {
+            @Override
+            protected Boolean doInBackground() throws Exception {
+                boolean idle = RequestProcessor.getInstance().awaitIdle(10, TimeUnit.SECONDS);
+                dB4OUtil.storeSystem(system);
+                return idle;
+            }
+
+            @Override
+            protected void done() {
+                if (loginPanel != null) {
+                    loginPanel.setLoginEnabled(true);
+                }
+                try {
+                    if (!get()) {
+                        JOptionPane.showMessageDialog(MainJFrame.this,
+                                "Some requests were still being processed when the system was saved.\n"
+                                        + "Their results will be saved when the application closes.",
+                                "Still Processing", JOptionPane.INFORMATION_MESSAGE);
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException ex) {
+                    Logger.getLogger(MainJFrame.class.getName()).log(Level.SEVERE, "Saving the system failed",
+                            ex.getCause());
+                    JOptionPane.showMessageDialog(MainJFrame.this, "Saving the system failed.", "Error",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
     /**
      * @param args the command line arguments
      */
@@ -2,12 +2,12 @@ package ui.PowerGridRole;
 
 import Business.EcoSystem;
 import Business.Enterprise.Enterprise;
-import Business.Organization.FieldEngineersOrganization;
 import Business.Organization.Organization;
 import Business.UserAccount.UserAccount;
 import Business.WorkQueue.FieldEngineerAssignmentRequest;
 import Business.WorkQueue.PowerIssueRequest;
 import Business.WorkQueue.WorkRequest;
+import ui.Utils.BackgroundLoader;
 import javax.swing.*;
 import javax.swing.border.*;
 import javax.swing.table.DefaultTableModel;
@@ -22,6 +22,7 @@ public class PowerGridWorkAreaJPanel extends JPanel {
     private EcoSystem business;
     private JTable powerIssueTable;
     private DefaultTableModel tableModel;
+    private final BackgroundLoader loader = new BackgroundLoader();
 
     // Professional color scheme
     private static final Color HEADER_BG = new Color(241, 196, 15); // Yellow/Gold
@@ -179,13 +180,8 @@ public class PowerGridWorkAreaJPanel extends JPanel {
                 }
 
                 // Find Field Engineers Organization
-                FieldEngineersOrganization fieldOrg = null;
-                for (Organization org : enterprise.getOrganizationDirectory().getOrganizationList()) {
-                    if (org instanceof FieldEngineersOrganization) {
-                        fieldOrg = (FieldEngineersOrganization) org;
-                        break;
-                    }
-                }
+                Organization fieldOrg = business.getRoutingTable().route(enterprise,
+                        Organization.Type.FIELD_ENGINEERS);
 
                 if (fieldOrg == null) {
                     JOptionPane.showMessageDialog(this,
@@ -223,14 +219,15 @@ public class PowerGridWorkAreaJPanel extends JPanel {
                     assignmentReq.setStatus("Assigned");
                     assignmentReq.setPowerRequest(request); // Link parent request object (legacy)
                     assignmentReq.setPowerRequestId(request.getRequestId()); // Link via ID (robust)
+                    assignmentReq.setBoardId(request.getBoardId());
                     // JOptionPane.showMessageDialog(this, "Debug: Linked Power Request ID: " +
                     // request.getRequestId());
                     // JOptionPane.showMessageDialog(this, "Debug: Linked Power Request REQ-" +
                     // System.identityHashCode(request));
 
                     // Add to queues
-                    selectedEngineer.getWorkQueue().getWorkRequestList().add(assignmentReq);
-                    fieldOrg.getWorkQueue().getWorkRequestList().add(assignmentReq);
+                    selectedEngineer.getWorkQueue().addWorkRequest(assignmentReq);
+                    fieldOrg.getWorkQueue().addWorkRequest(assignmentReq);
 
                     // Update original request
                     request.setStatus("Assigned to " + selectedEngineer.getEmployee().getName());
@@ -267,20 +264,17 @@ public class PowerGridWorkAreaJPanel extends JPanel {
     }
 
     private void populatePowerIssues() {
-        tableModel.setRowCount(0);
-
-        for (WorkRequest request : organization.getWorkQueue().getWorkRequestList()) {
-            if (request instanceof PowerIssueRequest) {
-                PowerIssueRequest pir = (PowerIssueRequest) request;
+        loader.loadRows(powerIssueTable, rows -> {
+            for (PowerIssueRequest pir : organization.getWorkQueue().getWorkRequests(PowerIssueRequest.class)) {
                 Object[] row = {
-                        "REQ-" + System.identityHashCode(request),
+                        "REQ-" + System.identityHashCode(pir),
                         pir.getBoardId(),
                         pir.getSeverity() != null ? pir.getSeverity() : "N/A",
-                        request.getStatus(),
+                        pir.getStatus(),
                         pir // Store object
                 };
-                tableModel.addRow(row);
+                rows.accept(row);
             }
-        }
+        });
     }
 }
@@ -10,6 +10,7 @@ import Business.Billboard.BillboardDirectory;
 import Business.WorkQueue.ComplianceInspectionRequest;
 import Business.WorkQueue.MaintenanceRequest;
 import Business.WorkQueue.WorkRequest;
+import ui.Utils.BackgroundLoader;
 
 import javax.swing.*;
 import javax.swing.border.*;
@@ -28,6 +29,7 @@ public class SafetyOfficerWorkAreaJPanel extends JPanel {
     private DefaultTableModel billboardModel;
     private JTable historyTable;
     private DefaultTableModel historyModel;
+    private final BackgroundLoader loader = new BackgroundLoader();
 
     // Professional color scheme
     private static final Color HEADER_BG = new Color(192, 57, 43); // Safety Red
@@ -149,52 +151,54 @@ public class SafetyOfficerWorkAreaJPanel extends JPanel {
     }
 
     private void populateBillboards() {
-        billboardModel.setRowCount(0);
-        // Find Billboard Enterprise
-        // Assuming single network for demo, but iterating to be safe
-        for (Network network : business.getNetworkList()) {
-            for (Enterprise ent : network.getEnterpriseDirectory().getEnterpriseList()) {
-                if (ent instanceof Business.Enterprise.SkyViewBillboardEnterprise) { // Check type
-                    Business.Enterprise.SkyViewBillboardEnterprise skyView = (Business.Enterprise.SkyViewBillboardEnterprise) ent;
-                    if (skyView.getBillboardDirectory() != null) {
-                        for (Billboard b : skyView.getBillboardDirectory().getBillboards()) {
-                            billboardModel.addRow(new Object[] {
-                                    b.getBoardId(),
-                                    b.getLocation(),
-                                    b.getType(),
-                                    b.getStatus(),
-                                    b // Store object
-                            });
+        loader.loadRows(billboardTable, rows -> {
+            // Find Billboard Enterprise
+            // Assuming single network for demo, but iterating to be safe
+            for (Network network : business.getNetworkList()) {
+                for (Enterprise ent : network.getEnterpriseDirectory().getEnterpriseList()) {
+                    if (ent instanceof Business.Enterprise.SkyViewBillboardEnterprise) { // Check type
+                        Business.Enterprise.SkyViewBillboardEnterprise skyView = (Business.Enterprise.SkyViewBillboardEnterprise) ent;
+                        if (skyView.getBillboardDirectory() != null) {
+                            for (Billboard b : skyView.getBillboardDirectory().getBillboardsSnapshot()) {
+                                rows.accept(new Object[] {
+                                        b.getBoardId(),
+                                        b.getLocation(),
+                                        b.getType(),
+                                        b.getStatus(),
+                                        b // Store object
+                                });
+                            }
                         }
                     }
                 }
             }
-        }
+        });
     }
 
     private void populateHistory() {
-        historyModel.setRowCount(0);
-        for (WorkRequest wr : account.getWorkQueue().getWorkRequestList()) {
-            String type = "Unknown";
-            int boardId = -1;
-
-            if (wr instanceof ComplianceInspectionRequest) {
-                type = "Inspection";
-                boardId = ((ComplianceInspectionRequest) wr).getBoardId();
-            } else if (wr instanceof MaintenanceRequest) {
-                type = "Hazard Report";
-                boardId = ((MaintenanceRequest) wr).getBoardId();
-            }
+        loader.loadRows(historyTable, rows -> {
+            for (WorkRequest wr : account.getWorkQueue().getWorkRequestList()) {
+                String type = "Unknown";
+                int boardId = -1;
+
+                if (wr instanceof ComplianceInspectionRequest) {
+                    type = "Inspection";
+                    boardId = ((ComplianceInspectionRequest) wr).getBoardId();
+                } else if (wr instanceof MaintenanceRequest) {
+                    type = "Hazard Report";
+                    boardId = ((MaintenanceRequest) wr).getBoardId();
+                }
 
-            historyModel.addRow(new Object[] {
-                    "REQ-" + wr.hashCode(),
-                    type,
-                    boardId,
-                    wr.getReceiver() != null ? wr.getReceiver().getUsername() : "Org Queue",
-                    wr.getStatus(),
-                    wr.getResolveDate()
-            });
-        }
+                rows.accept(new Object[] {
+                        "REQ-" + wr.hashCode(),
+                        type,
+                        boardId,
+                        wr.getReceiver() != null ? wr.getReceiver().getUsername() : "Org Queue",
+                        wr.getStatus(),
+                        wr.getResolveDate()
+                });
+            }
+        });
     }
 
     private void handleInspectionRequest() {
@@ -214,17 +218,10 @@ public class SafetyOfficerWorkAreaJPanel extends JPanel {
         req.setMessage("Safety Audit requested by " + account.getUsername());
 
         // Send to Compliance Organization (own enterprise)
-        boolean sent = false;
-        for (Organization org : enterprise.getOrganizationDirectory().getOrganizationList()) {
-            if (org instanceof Business.Organization.ComplianceInspectionOrganization) {
-                org.getWorkQueue().getWorkRequestList().add(req);
-                account.getWorkQueue().getWorkRequestList().add(req);
-                sent = true;
-                break;
-            }
-        }
+        boolean sent = business.getRoutingTable().dispatch(req) != null;
 
         if (sent) {
+            account.getWorkQueue().addWorkRequest(req);
             JOptionPane.showMessageDialog(this, "Inspection Request Sent!");
             populateHistory();
         } else {
@@ -256,25 +253,10 @@ public class SafetyOfficerWorkAreaJPanel extends JPanel {
         req.setMessage("Critical Safety Hazard Reported");
 
         // Send to Billboard Operations Organization (Cross Enterprise)
-        boolean sent = false;
-        for (Network n : business.getNetworkList()) {
-            for (Enterprise e : n.getEnterpriseDirectory().getEnterpriseList()) {
-                for (Organization org : e.getOrganizationDirectory().getOrganizationList()) {
-                    if (org instanceof Business.Organization.BillboardOperationsOrganization) {
-                        org.getWorkQueue().getWorkRequestList().add(req);
-                        account.getWorkQueue().getWorkRequestList().add(req);
-                        sent = true;
-                        break;
-                    }
-                }
-                if (sent)
-                    break;
-            }
-            if (sent)
-                break;
-        }
+        boolean sent = business.getRoutingTable().dispatch(req) != null;
 
         if (sent) {
+            account.getWorkQueue().addWorkRequest(req);
             JOptionPane.showMessageDialog(this, "Hazard Reported to Operations!", "Hazard Sent",
                     JOptionPane.WARNING_MESSAGE);
             populateHistory();
@@ -0,0 +1,245 @@
+package ui.SystemAdminWorkArea;
+
+import Business.EcoSystem;
+import Business.Enterprise.Enterprise;
+import Business.Network.Network;
+import Business.Organization.Organization;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.swing.event.EventListenerList;
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import javax.swing.tree.TreeModel;
+import javax.swing.tree.TreePath;
+
+/**
+ * Tree of networks, enterprises and organizations read straight from the
+ * EcoSystem.
+ *
+ * A node's children are read the first time the tree asks for them, so
+ * only the expanded part of a large system is ever loaded. refresh compares
+ * the loaded nodes with the system and fires an insert, remove or change
+ * event for each node that differs, so the tree keeps its expansion and
+ * selection.
+ */
+public class EcoSystemTreeModel implements TreeModel {
+
+    private final EcoSystem system;
+    private final Node root;
+    private final EventListenerList listeners = new EventListenerList();
+
+    public EcoSystemTreeModel(EcoSystem system) {
+        this.system = system;
+        root = new Node(null);
+    }
+
+    /**
+     * Brings the loaded nodes in line with the system. Must be called on
+     * the event thread.
+     */
+    public void refresh() {
+        refresh(root, new TreePath(root));
+    }
+
+    @Override
+    public Object getRoot() {
+        return root;
+    }
+
+    @Override
+    public Object getChild(Object parent, int index) {
+        return ((Node) parent).children().get(index);
+    }
+
+    @Override
+    public int getChildCount(Object parent) {
+        return ((Node) parent).children().size();
+    }
+
+    @Override
+    public boolean isLeaf(Object node) {
+        return ((Node) node).value instanceof Organization;
+    }
+
+    @Override
+    public int getIndexOfChild(Object parent, Object child) {
+        if (parent == null || child == null) {
+            return -1;
+        }
+        return ((Node) parent).children().indexOf(child);
+    }
+
+    @Override
+    public void valueForPathChanged(TreePath path, Object newValue) {
+        // Names are edited in the manage panels, not in the tree
+    }
+
+    @Override
+    public void addTreeModelListener(TreeModelListener l) {
+        listeners.add(TreeModelListener.class, l);
+    }
+
+    @Override
+    public void removeTreeModelListener(TreeModelListener l) {
+        listeners.remove(TreeModelListener.class, l);
+    }
+
+    private void refresh(Node node, TreePath path) {
+        if (node.children == null) {
+            return; // Never loaded; read fresh when first expanded
+        }
+        List<?> current = node.source();
+
+        // Drop nodes whose object left the system
+        Map<Object, Boolean> present = new IdentityHashMap<>();
+        for (Object value : current) {
+            present.put(value, Boolean.TRUE);
+        }
+        List<Integer> removedIndices = new ArrayList<>();
+        List<Node> removed = new ArrayList<>();
+        for (int i = 0; i < node.children.size(); i++) {
+            if (!present.containsKey(node.children.get(i).value)) {
+                removedIndices.add(i);
+                removed.add(node.children.get(i));
+            }
+        }
+        if (!removed.isEmpty()) {
+            node.children.removeAll(removed);
+            fire(path, removedIndices, removed, Kind.REMOVED);
+        }
+
+        // Add nodes for new objects at their place in the directory
+        Map<Object, Node> loaded = new IdentityHashMap<>();
+        for (Node child : node.children) {
+            loaded.put(child.value, child);
+        }
+        List<Integer> insertedIndices = new ArrayList<>();
+        List<Node> inserted = new ArrayList<>();
+        for (int i = 0; i < current.size(); i++) {
+            if (!loaded.containsKey(current.get(i))) {
+                Node child = new Node(current.get(i));
+                node.children.add(Math.min(i, node.children.size()), child);
+                insertedIndices.add(i);
+                inserted.add(child);
+            }
+        }
+        if (!inserted.isEmpty()) {
+            fire(path, insertedIndices, inserted, Kind.INSERTED);
+        }
+
+        for (int i = 0; i < node.children.size(); i++) {
+            if (node.children.get(i).value != current.get(i)) {
+                // Reordered in the directory; rare enough to reload this level
+                node.children = null;
+                fire(path, Collections.emptyList(), Collections.emptyList(), Kind.STRUCTURE);
+                return;
+            }
+        }
+
+        List<Integer> changedIndices = new ArrayList<>();
+        List<Node> changed = new ArrayList<>();
+        for (int i = 0; i < node.children.size(); i++) {
+            Node child = node.children.get(i);
+            if (child.relabel()) {
+                changedIndices.add(i);
+                changed.add(child);
+            }
+            refresh(child, path.pathByAddingChild(child));
+        }
+        if (!changed.isEmpty()) {
+            fire(path, changedIndices, changed, Kind.CHANGED);
+        }
+    }
+
+    private enum Kind {
+        INSERTED, REMOVED, CHANGED, STRUCTURE
+    }
+
+    private void fire(TreePath parent, List<Integer> indices, List<Node> children, Kind kind) {
+        int[] childIndices = new int[indices.size()];
+        for (int i = 0; i < childIndices.length; i++) {
+            childIndices[i] = indices.get(i);
+        }
+        TreeModelEvent event = kind == Kind.STRUCTURE
+                ? new TreeModelEvent(this, parent)
+                : new TreeModelEvent(this, parent, childIndices, children.toArray());
+        for (TreeModelListener l : listeners.getListeners(TreeModelListener.class)) {
+            switch (kind) {
+                case INSERTED:
+                    l.treeNodesInserted(event);
+                    break;
+                case REMOVED:
+                    l.treeNodesRemoved(event);
+                    break;
+                case CHANGED:
+                    l.treeNodesChanged(event);
+                    break;
+                case STRUCTURE:
+                    l.treeStructureChanged(event);
+                    break;
+            }
+        }
+    }
+
+    // A network, enterprise or organization, or the root when value is null
+    private class Node {
+        private final Object value;
+        private String label;
+        private List<Node> children; // null until first asked for
+
+        Node(Object value) {
+            this.value = value;
+            this.label = nameOf(value);
+        }
+
+        List<Node> children() {
+            if (children == null) {
+                children = new ArrayList<>();
+                for (Object child : source()) {
+                    children.add(new Node(child));
+                }
+            }
+            return children;
+        }
+
+        List<?> source() {
+            if (value == null) {
+                return system.getNetworkList();
+            } else if (value instanceof Network) {
+                return ((Network) value).getEnterpriseDirectory().getEnterpriseList();
+            } else if (value instanceof Enterprise) {
+                return ((Enterprise) value).getOrganizationDirectory().getOrganizationList();
+            }
+            return Collections.emptyList();
+        }
+
+        // Returns true if the name changed
+        boolean relabel() {
+            String name = nameOf(value);
+            if (name.equals(label)) {
+                return false;
+            }
+            label = name;
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private static String nameOf(Object value) {
+        if (value == null) {
+            return "Networks";
+        } else if (value instanceof Network) {
+            return String.valueOf(((Network) value).getName());
+        } else if (value instanceof Enterprise) {
+            return String.valueOf(((Enterprise) value).getName());
+        }
+        return String.valueOf(((Organization) value).getName());
+    }
+}
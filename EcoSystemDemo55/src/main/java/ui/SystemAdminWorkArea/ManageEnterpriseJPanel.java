@@ -243,8 +243,7 @@ public class ManageEnterpriseJPanel extends javax.swing.JPanel {
 
                                                         if (confirm == javax.swing.JOptionPane.YES_OPTION) {
                                                                 targetNetwork.getEnterpriseDirectory()
-                                                                                .getEnterpriseList()
-                                                                                .remove(targetEnterprise);
+                                                                                .removeEnterprise(targetEnterprise);
                                                                 populateTable();
                                                                 javax.swing.JOptionPane.showMessageDialog(
                                                                                 ManageEnterpriseJPanel.this,
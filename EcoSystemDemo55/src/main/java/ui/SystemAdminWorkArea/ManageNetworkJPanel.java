@@ -268,7 +268,7 @@ public class ManageNetworkJPanel extends javax.swing.JPanel {
                                                                 javax.swing.JOptionPane.WARNING_MESSAGE);
 
                                                 if (confirm == javax.swing.JOptionPane.YES_OPTION) {
-                                                        system.getNetworkList().remove(networkToEdit);
+                                                        system.removeNetwork(networkToEdit);
                                                         populateNetworkTable();
                                                         javax.swing.JOptionPane.showMessageDialog(
                                                                         ManageNetworkJPanel.this,
@@ -6,15 +6,9 @@
 package ui.SystemAdminWorkArea;
 
 import Business.EcoSystem;
-import Business.Enterprise.Enterprise;
-import Business.Network.Network;
-import Business.Organization.Organization;
 import java.awt.CardLayout;
 import java.awt.Color;
-import java.util.ArrayList;
 import javax.swing.JPanel;
-import javax.swing.tree.DefaultMutableTreeNode;
-import javax.swing.tree.DefaultTreeModel;
 import ui.SystemAdminWorkArea.ManageEnterpriseJPanel;
 import ui.SystemAdminWorkArea.ManageNetworkJPanel;
 
@@ -29,6 +23,7 @@ public class SystemAdminWorkAreaJPanel extends javax.swing.JPanel {
      */
     JPanel userProcessContainer;
     EcoSystem ecosystem;
+    private EcoSystemTreeModel treeModel;
 
     // Professional color scheme
     private static final Color ADMIN_PRIMARY = new Color(142, 68, 173); // Purple for admin
@@ -40,7 +35,8 @@ public class SystemAdminWorkAreaJPanel extends javax.swing.JPanel {
         initComponents();
         this.userProcessContainer = userProcessContainer;
         this.ecosystem = ecosystem;
-        populateTree();
+        treeModel = new EcoSystemTreeModel(ecosystem);
+        jTree.setModel(treeModel);
         applyProfessionalStyling();
     }
 
@@ -173,45 +169,12 @@ public class SystemAdminWorkAreaJPanel extends javax.swing.JPanel {
         });
     }
 
+    /**
+     * Updates the tree after networks, enterprises or organizations were
+     * added, removed or renamed, without collapsing it.
+     */
     public void populateTree() {
-        DefaultTreeModel model = (DefaultTreeModel) jTree.getModel();
-        ArrayList<Network> networkList = ecosystem.getNetworkList();
-        ArrayList<Enterprise> enterpriseList;
-        ArrayList<Organization> organizationList;
-
-        Network network;
-        Enterprise enterprise;
-        Organization organization;
-
-        DefaultMutableTreeNode networks = new DefaultMutableTreeNode("Networks");
-        DefaultMutableTreeNode root = (DefaultMutableTreeNode) model.getRoot();
-        root.removeAllChildren();
-        root.insert(networks, 0);
-
-        DefaultMutableTreeNode networkNode;
-        DefaultMutableTreeNode enterpriseNode;
-        DefaultMutableTreeNode organizationNode;
-
-        for (int i = 0; i < networkList.size(); i++) {
-            network = networkList.get(i);
-            networkNode = new DefaultMutableTreeNode(network.getName());
-            networks.insert(networkNode, i);
-
-            enterpriseList = network.getEnterpriseDirectory().getEnterpriseList();
-            for (int j = 0; j < enterpriseList.size(); j++) {
-                enterprise = enterpriseList.get(j);
-                enterpriseNode = new DefaultMutableTreeNode(enterprise.getName());
-                networkNode.insert(enterpriseNode, j);
-
-                organizationList = enterprise.getOrganizationDirectory().getOrganizationList();
-                for (int k = 0; k < organizationList.size(); k++) {
-                    organization = organizationList.get(k); // <-- use k here
-                    organizationNode = new DefaultMutableTreeNode(organization.getName());
-                    enterpriseNode.insert(organizationNode, k);
-                }
-            }
-        }
-        model.reload();
+        treeModel.refresh();
     }
 
     /**
@@ -349,7 +312,7 @@ public class SystemAdminWorkAreaJPanel extends javax.swing.JPanel {
 
     private void jTreeValueChanged(javax.swing.event.TreeSelectionEvent evt) {// GEN-FIRST:event_jTreeValueChanged
 
-        DefaultMutableTreeNode selectedNode = (DefaultMutableTreeNode) jTree.getLastSelectedPathComponent();
+        Object selectedNode = jTree.getLastSelectedPathComponent();
         if (selectedNode != null) {
             lblSelectedNode.setText(selectedNode.toString());
         }
@@ -0,0 +1,242 @@
+package ui.Utils;
+
+import java.awt.event.HierarchyEvent;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.JComponent;
+import javax.swing.JTable;
+import javax.swing.SwingWorker;
+import javax.swing.table.DefaultTableModel;
+
+/**
+ * Runs a work area's populate and refresh work off the event thread.
+ *
+ * Each load belongs to a component, normally the table it fills, and
+ * starting a load cancels the one already running for that component. A
+ * load only runs while its component is showing: one started for a
+ * background tab or a work area not yet on screen waits until it is shown,
+ * and one whose component is hidden part way, such as when the user
+ * switches tabs, is cancelled and started again when it is next shown.
+ *
+ * Table rows are added in batches as they are produced, so the first rows
+ * appear while the rest are still loading. All methods must be called on
+ * the event thread.
+ */
+public class BackgroundLoader {
+
+    private static final Logger LOGGER = Logger.getLogger(BackgroundLoader.class.getName());
+
+    /**
+     * Produces table rows on the loading thread.
+     */
+    public interface RowSource {
+        void produce(Consumer<Object[]> rows) throws Exception;
+    }
+
+    private final Map<JComponent, Load> loads = new IdentityHashMap<>();
+    private final Map<JComponent, Boolean> watched = new IdentityHashMap<>();
+
+    /**
+     * Replaces the rows of the table's DefaultTableModel with the rows the
+     * source produces.
+     */
+    public void loadRows(JTable table, RowSource source) {
+        loadRows(table, source, null);
+    }
+
+    /**
+     * As loadRows, then runs onLoaded on the event thread once every row is
+     * in, unless the load was cancelled or failed.
+     */
+    public void loadRows(JTable table, RowSource source, Runnable onLoaded) {
+        DefaultTableModel model = (DefaultTableModel) table.getModel();
+        start(table, () -> {
+            model.setRowCount(0);
+            return new RowWorker(model, source, onLoaded);
+        });
+    }
+
+    /**
+     * Computes a value on the loading thread and hands it to onLoaded on the
+     * event thread, unless the load was cancelled or failed.
+     */
+    public <V> void load(JComponent owner, Callable<V> task, Consumer<V> onLoaded) {
+        start(owner, () -> new ValueWorker<>(task, onLoaded));
+    }
+
+    /**
+     * Cancels every load, for example when the work area is closed.
+     */
+    public void cancelAll() {
+        for (Load load : loads.values()) {
+            load.cancel();
+        }
+        loads.clear();
+    }
+
+    private void start(JComponent owner, Supplier<SwingWorker<?, ?>> factory) {
+        Load previous = loads.get(owner);
+        if (previous != null) {
+            previous.cancel();
+        }
+        Load load = new Load(owner, factory);
+        loads.put(owner, load);
+        watch(owner);
+        if (owner.isShowing()) {
+            load.run();
+        }
+    }
+
+    private void watch(JComponent owner) {
+        if (watched.put(owner, Boolean.TRUE) != null) {
+            return;
+        }
+        owner.addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) == 0) {
+                return;
+            }
+            Load load = loads.get(owner);
+            if (load == null) {
+                return;
+            }
+            if (owner.isShowing()) {
+                if (load.worker == null) {
+                    load.run();
+                }
+            } else {
+                load.cancel();
+            }
+        });
+    }
+
+    private void finished(Load load) {
+        if (loads.get(load.owner) == load) {
+            loads.remove(load.owner);
+        }
+    }
+
+    private static void failed(Exception ex) {
+        Throwable cause = ex instanceof ExecutionException && ex.getCause() != null ? ex.getCause() : ex;
+        LOGGER.log(Level.WARNING, "Background load failed", cause);
+    }
+
+    // A load and the worker currently running it, if any
+    private class Load {
+        private final JComponent owner;
+        private final Supplier<SwingWorker<?, ?>> factory;
+        private SwingWorker<?, ?> worker;
+
+        Load(JComponent owner, Supplier<SwingWorker<?, ?>> factory) {
+            this.owner = owner;
+            this.factory = factory;
+        }
+
+        void run() {
+            worker = factory.get();
+            worker.addPropertyChangeListener(e -> {
+                if ("state".equals(e.getPropertyName()) && e.getNewValue() == SwingWorker.StateValue.DONE
+                        && e.getSource() == worker && !worker.isCancelled()) {
+                    finished(this);
+                }
+            });
+            worker.execute();
+        }
+
+        // Leaves the load pending, so it runs again when the owner is shown
+        void cancel() {
+            if (worker != null) {
+                worker.cancel(false);
+                worker = null;
+            }
+        }
+    }
+
+    private static class RowWorker extends SwingWorker<Void, Object[]> {
+        private final DefaultTableModel model;
+        private final RowSource source;
+        private final Runnable onLoaded;
+
+        RowWorker(DefaultTableModel model, RowSource source, Runnable onLoaded) {
+            this.model = model;
+            this.source = source;
+            this.onLoaded = onLoaded;
+        }
+
+        @Override
+        protected Void doInBackground() throws Exception {
+            source.produce(row -> {
+                if (isCancelled()) {
+                    throw new CancellationException();
+                }
+                publish(row);
+            });
+            return null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected void process(List<Object[]> rows) {
+            if (isCancelled()) {
+                return;
+            }
+            // One insert event per batch instead of one per row
+            int first = model.getRowCount();
+            for (Object[] row : rows) {
+                model.getDataVector().add(new Vector<>(Arrays.asList(row)));
+            }
+            model.fireTableRowsInserted(first, model.getRowCount() - 1);
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                return;
+            }
+            try {
+                get();
+                if (onLoaded != null) {
+                    onLoaded.run();
+                }
+            } catch (InterruptedException | ExecutionException ex) {
+                failed(ex);
+            }
+        }
+    }
+
+    private static class ValueWorker<V> extends SwingWorker<V, Void> {
+        private final Callable<V> task;
+        private final Consumer<V> onLoaded;
+
+        ValueWorker(Callable<V> task, Consumer<V> onLoaded) {
+            this.task = task;
+            this.onLoaded = onLoaded;
+        }
+
+        @Override
+        protected V doInBackground() throws Exception {
+            return task.call();
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                return;
+            }
+            try {
+                onLoaded.accept(get());
+            } catch (InterruptedException | ExecutionException ex) {
+                failed(ex);
+            }
+        }
+    }
+}
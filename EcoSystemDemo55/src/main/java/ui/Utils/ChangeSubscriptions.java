@@ -0,0 +1,75 @@
+package ui.Utils;
+
+import Business.Events.ChangeBus;
+import Business.Events.ChangeEvent;
+import java.awt.event.HierarchyEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+
+/**
+ * A work area's ChangeBus listeners. Handlers run on the event thread and
+ * stay subscribed while the owner is displayable, so a work area stops
+ * receiving events once it is removed, for example on logout.
+ */
+public class ChangeSubscriptions {
+
+    private final List<Handler<?>> handlers = new ArrayList<>();
+    private final List<ChangeBus.Subscription> active = new ArrayList<>();
+
+    public ChangeSubscriptions(JComponent owner) {
+        owner.addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.DISPLAYABILITY_CHANGED) == 0) {
+                return;
+            }
+            if (owner.isDisplayable()) {
+                subscribeAll();
+            } else {
+                cancelAll();
+            }
+        });
+    }
+
+    /**
+     * Runs the handler on the event thread for each event of the type.
+     */
+    public <E extends ChangeEvent> ChangeSubscriptions on(Class<E> type, Consumer<? super E> handler) {
+        Handler<E> h = new Handler<>(type, handler);
+        handlers.add(h);
+        // Work areas subscribe while they are built, before they are shown
+        active.add(h.subscribe());
+        return this;
+    }
+
+    private void subscribeAll() {
+        if (!active.isEmpty()) {
+            return;
+        }
+        for (Handler<?> h : handlers) {
+            active.add(h.subscribe());
+        }
+    }
+
+    private void cancelAll() {
+        for (ChangeBus.Subscription subscription : active) {
+            subscription.cancel();
+        }
+        active.clear();
+    }
+
+    private static class Handler<E extends ChangeEvent> {
+        private final Class<E> type;
+        private final Consumer<? super E> handler;
+
+        Handler(Class<E> type, Consumer<? super E> handler) {
+            this.type = type;
+            this.handler = handler;
+        }
+
+        ChangeBus.Subscription subscribe() {
+            return ChangeBus.getInstance().subscribe(type, handler, SwingUtilities::invokeLater);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package ui.Utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Read-only table model over a list of business objects, such as a
+ * directory's billboards or a work queue view. Cells are computed from the
+ * row object only when the table asks for them, so a table with many rows
+ * costs just the visible ones, and setRows fires a single table event
+ * instead of one per row.
+ */
+public class ListTableModel<T> extends AbstractTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> columnNames;
+    private final List<Function<? super T, ?>> columns;
+    private List<? extends T> rows;
+    private List<T> ownRows; // rows, once addRow has copied them
+    private Map<Object, Integer> positions; // row object -> index, built on first lookup
+
+    public ListTableModel() {
+        columnNames = new ArrayList<>();
+        columns = new ArrayList<>();
+        rows = Collections.emptyList();
+    }
+
+    /**
+     * Adds a column whose cells are computed from the row object.
+     */
+    public ListTableModel<T> column(String name, Function<? super T, ?> value) {
+        columnNames.add(name);
+        columns.add(value);
+        return this;
+    }
+
+    /**
+     * Shows these rows. The list is used as is, not copied, so it should not
+     * change except through a later setRows or refresh.
+     */
+    public void setRows(List<? extends T> rows) {
+        this.rows = rows;
+        ownRows = null;
+        positions = null;
+        fireTableDataChanged();
+    }
+
+    /**
+     * Redraws after the row objects or the list itself changed.
+     */
+    public void refresh() {
+        positions = null;
+        fireTableDataChanged();
+    }
+
+    /**
+     * Redraws the row showing this object, if any, and returns whether
+     * there was one.
+     */
+    public boolean rowChanged(T row) {
+        int index = indexOf(row);
+        if (index < 0) {
+            return false;
+        }
+        fireTableRowsUpdated(index, index);
+        return true;
+    }
+
+    /**
+     * Appends a row. The first call copies the rows, so a list passed to
+     * setRows is never modified.
+     */
+    public void addRow(T row) {
+        if (ownRows == null) {
+            ownRows = new ArrayList<>(rows);
+            rows = ownRows;
+        }
+        int index = ownRows.size();
+        ownRows.add(row);
+        if (positions != null) {
+            positions.put(row, index);
+        }
+        fireTableRowsInserted(index, index);
+    }
+
+    /**
+     * Index of the row showing this object, or -1.
+     */
+    public int indexOf(Object row) {
+        Integer index = positions == null ? null : positions.get(row);
+        if (index != null && index < rows.size() && rows.get(index) == row) {
+            return index;
+        }
+        if (index == null && positions != null && positions.size() == rows.size()) {
+            return -1;
+        }
+        // First lookup, or the list changed underneath since the last one
+        positions = new IdentityHashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            positions.putIfAbsent(rows.get(i), i);
+        }
+        index = positions.get(row);
+        return index == null ? -1 : index;
+    }
+
+    public T getRow(int rowIndex) {
+        return rows.get(rowIndex);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames.get(column);
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        if (rowIndex >= rows.size()) {
+            return null; // the list shrank before the table caught up
+        }
+        return columns.get(columnIndex).apply(rows.get(rowIndex));
+    }
+}